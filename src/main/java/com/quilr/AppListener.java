@@ -34,6 +34,15 @@ public class AppListener implements ApplicationListener<ApplicationReadyEvent> {
    @Value("${spring.application.name}")
     private String appName;
 
+    @Value("${quilr.consumer.pipelined:false}")
+    private boolean pipelined;
+
+    @Value("${quilr.consumer.pipeline-queue-batches:2}")
+    private int pipelineQueueBatches;
+
+    @Value("${quilr.dlq.enabled:true}")
+    private boolean dlqEnabled;
+
     @Autowired
     private QuilrConfigs quilrConfigs;
 
@@ -101,6 +110,11 @@ public class AppListener implements ApplicationListener<ApplicationReadyEvent> {
                 consumerProps.put("auto.offset.reset", "latest");
                 consumerProps.put("enable.auto.commit", "false");
                 consumerProps.put("max.poll.records", "1000");
+                // Pipelined poll/process loop unless the pipeline config sets it
+                consumerProps.putIfAbsent("pipelined", String.valueOf(pipelined));
+                consumerProps.putIfAbsent("pipelineQueueBatches", String.valueOf(pipelineQueueBatches));
+                // Batches that fail after all their retries go to the DLQ and are committed
+                consumerProps.putIfAbsent("dlqEnabled", String.valueOf(dlqEnabled));
 
                 int threads = (int) consumerProps.getOrDefault("num.stream.threads", 1);
                 log.info("Starting {} Batch Kafka Consumer threads...",threads);
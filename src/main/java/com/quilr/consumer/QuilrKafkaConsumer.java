@@ -1,26 +1,40 @@
 package com.quilr.consumer;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quilr.dto.RawEntityMessage;
 import com.quilr.dto.TransformedEntity;
+import com.quilr.mapping.BatchMemoFactory;
+import com.quilr.mapping.transform.BatchMemo;
 import com.quilr.service.EntityOutputService;
 import com.quilr.service.EntityProcessingService;
 import com.quilr.service.kafka.AbstractBatchKafkaConsumer;
 import com.quilr.service.kafka.BatchConsumerService;
+import com.quilr.service.kafka.DeadLetterPublisher;
+import com.quilr.service.kafka.DeadLetterPublisher.Stage;
+import com.quilr.service.kafka.OffsetTracker;
+import com.quilr.service.kafka.RecordRetryQueue;
+import com.quilr.service.kafka.ShardedRecordExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
-import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Properties;
+import java.io.IOException;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 @Component
 @Scope("prototype")
@@ -36,10 +50,82 @@ public class QuilrKafkaConsumer extends AbstractBatchKafkaConsumer<String, Strin
     @Autowired
     private EntityOutputService entityOutputService;
     
+    @Autowired
+    private BatchMemoFactory batchMemoFactory;
+    
+    @Autowired
+    private ShardedRecordExecutor recordExecutor;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private DeadLetterPublisher deadLetterPublisher;
+    
     @Value("${quilr.transformers.enabled:false}")
     private boolean transformersEnabled;
+    
+    /**
+     * Hand the transformed entities of a batch to the output stage together, so that shared
+     * entities (tenant, groups, roles, ...) are written once per batch
+     */
+    @Value("${quilr.transformers.ingestion.aggregate-batch:false}")
+    private boolean aggregateBatch;
+    
+    /**
+     * Attempts per record, including the first, before it is dead-lettered
+     */
+    @Value("${quilr.consumer.retry.max-attempts:5}")
+    private int retryMaxAttempts;
+    
+    @Value("${quilr.consumer.retry.initial-backoff-ms:500}")
+    private long retryInitialBackoffMs;
+    
+    @Value("${quilr.consumer.retry.max-backoff-ms:30000}")
+    private long retryMaxBackoffMs;
+    
+    /**
+     * Records held for retry, or behind the retry of their key, before the consumer stops taking
+     * new records until retries drain (see isBackedUp)
+     */
+    @Value("${quilr.consumer.retry.capacity:1000}")
+    private int retryCapacity;
 
     private BatchConsumerService batchConsumerService;
+    private RecordRetryQueue<String, String> retryQueue;
+    private Counter retriedCounter;
+    private Counter recoveredCounter;
+    private Counter heldCounter;
+    private Counter deadLetteredCounter;
+    
+    /**
+     * Latest batch offsets held back by records waiting for a retry, and the offsets last
+     * released per partition; used on the processing thread only
+     */
+    private final Map<TopicPartition, OffsetAndMetadata> heldOffsets = new HashMap<>();
+    private final Map<TopicPartition, Long> releasedOffsets = new HashMap<>();
+    
+    /**
+     * Dead-letter sends not confirmed yet; offsets are released only once they are written
+     */
+    private final Queue<DeadLetterSend> deadLetterSends = new ConcurrentLinkedQueue<>();
+    
+    private record DeadLetterSend(ConsumerRecord<String, String> record, int attempts, Future<RecordMetadata> result) {
+    }
+    
+    /**
+     * Records dead-lettered (or being dead-lettered) whose offsets are not released yet. When
+     * they are polled again, e.g. because their batch failed as a whole, they are skipped
+     * rather than dead-lettered twice.
+     */
+    private final Set<RecordId> deadLettered = ConcurrentHashMap.newKeySet();
+    
+    private record RecordId(TopicPartition partition, long offset) {
+        
+        static RecordId of(ConsumerRecord<?, ?> record) {
+            return new RecordId(new TopicPartition(record.topic(), record.partition()), record.offset());
+        }
+    }
 
     public QuilrKafkaConsumer() {
         super("org.apache.kafka.common.serialization.StringDeserializer",
@@ -53,9 +139,32 @@ public class QuilrKafkaConsumer extends AbstractBatchKafkaConsumer<String, Strin
     public void init(Properties props, BatchConsumerService batchConsumerService) {
         this.batchConsumerService = batchConsumerService;
         initProperties(props);
+        deadLetterPublisher.configure(props);
+        recordExecutor.registerConsumer();
+        // Records of a key being retried wait behind it, in the same order as parallel shards
+        this.retryQueue = new RecordRetryQueue<>(retryCapacity, retryMaxAttempts, retryInitialBackoffMs, retryMaxBackoffMs,
+            this::shardKey);
+        this.retriedCounter = recordCounter("retried");
+        this.recoveredCounter = recordCounter("recovered");
+        this.heldCounter = recordCounter("held");
+        this.deadLetteredCounter = recordCounter("dead_lettered");
         log.info("QuilrKafkaConsumer initialized with properties and batchConsumerService");
     }
+    
+    private Counter recordCounter(String outcome) {
+        return Counter.builder("quilr.consumer.records.failed")
+            .tag("outcome", outcome)
+            .description("Failed records by outcome: queued for retry, recovered by a retry, or dead-lettered; "
+                + "held counts records waiting behind a retry of their key")
+            .register(meterRegistry);
+    }
 
+    /**
+     * Process a batch; record failures are retried or dead-lettered per record, including
+     * records whose aggregated entities could not be written. A failure of the batch as a whole
+     * is rethrown with nothing committed and the records left in place, so the consumer loop can
+     * retry the batch.
+     */
     @Override
     public boolean processBatchOfRecords(List<ConsumerRecord<String, String>> records, Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
         if (records == null || records.isEmpty()) {
@@ -65,53 +174,383 @@ public class QuilrKafkaConsumer extends AbstractBatchKafkaConsumer<String, Strin
         try {
             log.info("[CID:{}] Processing batch of {} records (Transformers enabled: {})", 
                 this.getThreadId(), records.size(), transformersEnabled);
+            
+            if (transformersEnabled) {
+                processDueRetries();
+            }
+            
+            if (transformersEnabled && recordExecutor.isEnabled() && records.size() > 1) {
+                processInParallel(records, offsetsToCommit);
+                completeBatch(records, offsetsToCommit);
+                return true;
+            }
 
             int successCount = 0;
             int failureCount = 0;
+            List<TransformedEntity> transformed = transformersEnabled && aggregateBatch
+                ? new ArrayList<>(records.size()) : null;
+            Map<TransformedEntity, ConsumerRecord<String, String>> owners = new IdentityHashMap<>();
 
-            for (ConsumerRecord<String, String> record : records) {
-                try {
-                    if (transformersEnabled) {
-                        // NEW: Transformation pipeline
-                        processWithTransformation(record);
-                    } else {
-                        // LEGACY: Simple logging (backward compatibility)
-                        log.info("[CID:{}] Consumed record - Topic: {}, Partition: {}, Offset: {}, Key: {}",
-                            this.getThreadId(),
-                            record.topic(),
-                            record.partition(),
-                            record.offset(),
-                            record.key());
-                    }
+            // Pure transforms and parsed ids/timestamps are memoized across the records of the batch
+            try (BatchMemo memo = batchMemoFactory.open()) {
+                for (ConsumerRecord<String, String> record : records) {
+                    try {
+                        if (transformersEnabled) {
+                            // NEW: Transformation pipeline
+                            List<TransformedEntity> recordEntities = transformed != null ? new ArrayList<>() : null;
+                            if (!processWithTransformation(record, recordEntities != null
+                                    ? recordEntities::add : entityOutputService::handleTransformedEntity, 1)) {
+                                failureCount++;
+                                continue;
+                            }
+                            // Entities (and streamed parts) of a failed record are not written
+                            if (recordEntities != null) {
+                                recordEntities.forEach(entity -> {
+                                    transformed.add(entity);
+                                    owners.put(entity, record);
+                                });
+                            }
+                        } else {
+                            // LEGACY: Simple logging (backward compatibility)
+                            log.info("[CID:{}] Consumed record - Topic: {}, Partition: {}, Offset: {}, Key: {}",
+                                this.getThreadId(),
+                                record.topic(),
+                                record.partition(),
+                                record.offset(),
+                                record.key());
+                        }
                     
-                    successCount++;
-                } catch (Exception ex) {
-                    failureCount++;
-                    log.error("[CID:{}] Error processing record at offset {}: {}", 
-                        this.getThreadId(), record.offset(), ex.getMessage(), ex);
+                        successCount++;
+                    } catch (Exception ex) {
+                        failureCount++;
+                        log.error("[CID:{}] Error processing record at offset {}: {}", 
+                            this.getThreadId(), record.offset(), ex.getMessage(), ex);
+                    }
                 }
             }
             
+            if (transformed != null) {
+                outputAggregated(transformed, owners);
+            }
+            
+            releaseOffsets(offsetsToCommit);
+            completeBatch(records, offsetsToCommit);
+            
             log.info("[CID:{}] Batch processing complete - Success: {}, Failed: {}", 
                 this.getThreadId(), successCount, failureCount);
             
             return true;
             
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("[CID:{}] Error processing batch: {}", 
                 this.getThreadId(), e.getMessage(), e);
-            return false;
-        } finally {
+            if (transformersEnabled) {
+                // The batch is processed again; drop the retries of its records. Records already
+                // dead-lettered are skipped when it is.
+                retryQueue.discard(records);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Commit the offsets released for a processed batch and let go of its records.
+     * Pipelined consumers commit from the poll thread once the batch has completed.
+     */
+    private void completeBatch(List<ConsumerRecord<String, String>> records,
+                               Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
+        if (!isPipelined()) {
             commitProcessedOffsets(offsetsToCommit);
-            records.clear();
+        }
+        records.clear();
+    }
+    
+    /**
+     * Process the batch on the sharded worker pool. Records with the same key (or tenant) are
+     * processed in order by one worker; offsets are committed only up to the lowest contiguous
+     * processed record of each partition, and partitions with records left over (batch timeout)
+     * are rewound to the first of them so they are polled again.
+     */
+    private void processInParallel(List<ConsumerRecord<String, String>> records,
+                                   Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
+        OffsetTracker tracker = new OffsetTracker(records);
+        // Entities (and streamed parts) of each processed record in aggregate-batch mode
+        AtomicReferenceArray<List<TransformedEntity>> transformed = aggregateBatch
+            ? new AtomicReferenceArray<>(records.size()) : null;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        
+        boolean finished = recordExecutor.run(
+            IntStream.range(0, records.size()).boxed().toList(),
+            index -> shardKey(records.get(index)),
+            index -> {
+                // A cancelled shard leaves its remaining records unprocessed and uncommitted
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                ConsumerRecord<String, String> record = records.get(index);
+                try {
+                    List<TransformedEntity> recordEntities = transformed != null ? new ArrayList<>() : null;
+                    boolean processed = processWithTransformation(record, recordEntities != null
+                        ? recordEntities::add : entityOutputService::handleTransformedEntity, 1);
+                    if (processed && recordEntities != null) {
+                        transformed.set(index, recordEntities);
+                    }
+                    (processed ? successCount : failureCount).incrementAndGet();
+                } catch (Exception ex) {
+                    failureCount.incrementAndGet();
+                    log.error("[CID:{}] Error processing record at offset {}: {}", 
+                        this.getThreadId(), record.offset(), ex.getMessage(), ex);
+                }
+                // Handled even if the shard was cancelled meanwhile; the executor waits for
+                // cancelled workers before the records left over are rewound
+                tracker.complete(record);
+            },
+            // Each worker memoizes across the records of its shard
+            shard -> () -> {
+                try (BatchMemo memo = batchMemoFactory.open()) {
+                    shard.run();
+                }
+            });
+        
+        if (transformed != null) {
+            List<TransformedEntity> entities = new ArrayList<>(records.size());
+            Map<TransformedEntity, ConsumerRecord<String, String>> owners = new IdentityHashMap<>();
+            for (int i = 0; i < transformed.length(); i++) {
+                List<TransformedEntity> recordEntities = transformed.get(i);
+                if (recordEntities != null) {
+                    for (TransformedEntity entity : recordEntities) {
+                        entities.add(entity);
+                        owners.put(entity, records.get(i));
+                    }
+                }
+            }
+            outputAggregated(entities, owners);
+        }
+        
+        offsetsToCommit.clear();
+        offsetsToCommit.putAll(tracker.committableOffsets());
+        if (!finished) {
+            Map<TopicPartition, Long> pending = tracker.pendingOffsets();
+            // Records from the rewound offsets are polled again; drop the retries they left, so
+            // they are not handled twice. Records already dead-lettered are skipped.
+            Set<ConsumerRecord<String, String>> rewound = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ConsumerRecord<String, String> record : records) {
+                Long from = pending.get(new TopicPartition(record.topic(), record.partition()));
+                if (from != null && record.offset() >= from) {
+                    rewound.add(record);
+                }
+            }
+            retryQueue.discard(rewound);
+            rewindTo(pending);
+        }
+        releaseOffsets(offsetsToCommit);
+        
+        log.info("[CID:{}] Parallel batch processing complete - Success: {}, Failed: {}, Finished: {}", 
+            this.getThreadId(), successCount.get(), failureCount.get(), finished);
+    }
+    
+    /**
+     * Write the entities collected for a batch in aggregate-batch mode. A record whose entities
+     * could not be written has failed in the output stage: it is retried or dead-lettered like
+     * any other failed record, before the offsets of the batch are released.
+     * 
+     * @param owners Record each entity was transformed from
+     */
+    private void outputAggregated(List<TransformedEntity> entities,
+                                  Map<TransformedEntity, ConsumerRecord<String, String>> owners) {
+        Set<ConsumerRecord<String, String>> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EntityOutputService.OutputFailure failure : entityOutputService.handleTransformedEntities(entities)) {
+            ConsumerRecord<String, String> record = owners.get(failure.entity());
+            if (record != null && failed.add(record)) {
+                handleFailure(record, Stage.OUTPUT, 1, failure.error());
+            }
+        }
+    }
+    
+    /**
+     * Records with the same shard key are processed in order: the tenant when sharding by
+     * tenant, otherwise the record key, or the partition for records without a key
+     */
+    private Object shardKey(ConsumerRecord<String, String> record) {
+        if (recordExecutor.isShardByTenant()) {
+            String tenant = tenantOf(record.value());
+            if (tenant != null) {
+                return tenant;
+            }
+        }
+        return record.key() != null ? record.key() : record.partition();
+    }
+    
+    /**
+     * Read the top-level tenant of a message without binding it
+     */
+    private String tenantOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("tenant".equals(field)) {
+                    return token.isScalarValue() ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Unparseable records fail in processing; shard them by key
+        }
+        return null;
+    }
+    
+    @Override
+    protected Map<TopicPartition, OffsetAndMetadata> processIdle() {
+        if (!transformersEnabled || retryQueue == null
+                || (retryQueue.isEmpty() && heldOffsets.isEmpty() && deadLetterSends.isEmpty())) {
+            return Map.of();
+        }
+        processDueRetries();
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        releaseOffsets(offsets);
+        return offsets;
+    }
+    
+    /**
+     * Stop taking new records while the retry queue is full, e.g. during a database outage,
+     * rather than dead-letter records that still have attempts left
+     */
+    @Override
+    protected boolean isBackedUp() {
+        return transformersEnabled && retryQueue != null && retryQueue.isFull();
+    }
+    
+    @Override
+    protected void partitionsRevoked(Collection<TopicPartition> partitions) {
+        if (retryQueue != null) {
+            retryQueue.discardPartitions(partitions);
+        }
+        deadLetterSends.removeIf(send -> partitions.contains(
+            new TopicPartition(send.record().topic(), send.record().partition())));
+        deadLettered.removeIf(id -> partitions.contains(id.partition()));
+        heldOffsets.keySet().removeAll(partitions);
+        releasedOffsets.keySet().removeAll(partitions);
+    }
+    
+    /**
+     * Retry the failed records that are due. Retries run between batches, so a failing record
+     * does not hold up the records of other keys; records of its own key (see shardKey) wait
+     * behind it in the retry queue and are processed in order once it has succeeded or been
+     * dead-lettered, so the per-key order is kept.
+     */
+    private void processDueRetries() {
+        for (RecordRetryQueue.Retry<String, String> retry : retryQueue.takeDue(System.currentTimeMillis())) {
+            ConsumerRecord<String, String> record = retry.record();
+            log.info("[CID:{}] Retrying record at partition {} offset {} (attempt {}), last error: {}", 
+                this.getThreadId(), record.partition(), record.offset(), retry.attempts() + 1, retry.lastError());
+            if (processWithTransformation(record, entityOutputService::handleTransformedEntity, retry.attempts() + 1)) {
+                recoveredCounter.increment();
+            }
+            // A record failing again is held behind the retry it starts
+            for (ConsumerRecord<String, String> held : retryQueue.release(record)) {
+                processWithTransformation(held, entityOutputService::handleTransformedEntity, 1);
+            }
+        }
+    }
+    
+    /**
+     * Limit the offsets to commit so that no record waiting for a retry is passed; offsets held
+     * back are released once their retries have succeeded or been dead-lettered
+     * 
+     * @param offsetsToCommit Offsets of the batch just processed; replaced by the committable ones
+     */
+    private void releaseOffsets(Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
+        awaitDeadLetters();
+        offsetsToCommit.forEach((partition, offset) -> heldOffsets.merge(partition, offset,
+            (held, next) -> next.offset() >= held.offset() ? next : held));
+        offsetsToCommit.clear();
+        
+        Map<TopicPartition, Long> pending = retryQueue.lowestPendingOffsets();
+        Iterator<Map.Entry<TopicPartition, OffsetAndMetadata>> it = heldOffsets.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TopicPartition, OffsetAndMetadata> held = it.next();
+            Long retrying = pending.get(held.getKey());
+            long committable = retrying != null ? Math.min(retrying, held.getValue().offset()) : held.getValue().offset();
+            if (retrying == null || retrying >= held.getValue().offset()) {
+                it.remove();
+            }
+            Long released = releasedOffsets.get(held.getKey());
+            if (released == null || committable > released) {
+                releasedOffsets.put(held.getKey(), committable);
+                offsetsToCommit.put(held.getKey(), new OffsetAndMetadata(committable));
+            }
+        }
+        
+        if (!deadLettered.isEmpty()) {
+            // Records before the released offsets are not polled again
+            deadLettered.removeIf(id -> {
+                Long released = releasedOffsets.get(id.partition());
+                return released != null && id.offset() < released;
+            });
+        }
+    }
+    
+    /**
+     * Wait until the records dead-lettered so far are written. A record that could not be
+     * written is queued for a retry, which holds back its offset and dead-letters it again
+     * if it still fails.
+     */
+    private void awaitDeadLetters() {
+        DeadLetterSend send;
+        while ((send = deadLetterSends.poll()) != null) {
+            ConsumerRecord<String, String> record = send.record();
+            try {
+                send.result().get();
+            } catch (InterruptedException | ExecutionException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.error("[CID:{}] Record at partition {} offset {} was not dead-lettered; queued for retry: {}", 
+                    this.getThreadId(), record.partition(), record.offset(), e.getMessage());
+                deadLettered.remove(RecordId.of(record));
+                retryQueue.requeue(record, send.attempts(), "Dead-lettering failed: " + e.getMessage());
+            }
         }
     }
     
     /**
      * Process record through transformation pipeline.
      * Flow: Parse JSON → Transform → Output
+     * 
+     * Messages that cannot be parsed or are invalid are dead-lettered right away; other failures
+     * are queued for a retry with backoff and dead-lettered once the record has used its attempts.
+     * 
+     * @param output Receives the transformed entity and the parts streamed before it (the output
+     *               stage, or the record's entities collected for the batch). Parts written by the
+     *               output stage before the record fails are written again by its retry
+     *               (at-least-once; the writes are upserts).
+     * @param attempt Attempt number, 1 for the first
+     * @return true if the record was processed
      */
-    private void processWithTransformation(ConsumerRecord<String, String> record) {
+    private boolean processWithTransformation(ConsumerRecord<String, String> record, Consumer<TransformedEntity> output,
+                                              int attempt) {
+        if (deadLettered.contains(RecordId.of(record))) {
+            log.debug("[CID:{}] Skipping record at offset {}, already dead-lettered", 
+                this.getThreadId(), record.offset());
+            return false;
+        }
+        if (retryQueue.isWaiting(record)) {
+            // An earlier record of the same key is waiting for a retry; keep the key's order
+            retryQueue.hold(record);
+            heldCounter.increment();
+            log.debug("[CID:{}] Holding record at offset {} behind a retry of its key", 
+                this.getThreadId(), record.offset());
+            return false;
+        }
+        Stage stage = Stage.PARSE;
         try {
             // Step 1: Parse JSON to RawEntityMessage
             String value = record.value();
@@ -120,31 +559,62 @@ public class QuilrKafkaConsumer extends AbstractBatchKafkaConsumer<String, Strin
             log.debug("[CID:{}] Parsed message - Vendor: {}, Type: {}", 
                 this.getThreadId(), rawMessage.getVendor(), rawMessage.getType());
             
-            // Step 2: Transform through vendor-specific transformer
-            TransformedEntity transformedEntity = entityProcessingService.processEntity(rawMessage);
+            // Step 2: Transform through vendor-specific transformer; parts of very large
+            // records are handed to the output as they are mapped
+            stage = Stage.TRANSFORM;
+            TransformedEntity transformedEntity = entityProcessingService.processEntity(rawMessage, output);
             
-            // Step 3: Output transformed entity
-            entityOutputService.handleTransformedEntity(transformedEntity);
+            // Step 3: Output transformed entity (streamed parts were handed to it above)
+            stage = Stage.OUTPUT;
+            output.accept(transformedEntity);
             
             log.debug("[CID:{}] Successfully processed and transformed record at offset {}", 
                 this.getThreadId(), record.offset());
+            return true;
             
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
-            log.error("[CID:{}] JSON parsing error at offset {}: {}. Falling back to logging.", 
+            log.error("[CID:{}] JSON parsing error at offset {}: {}. Dead-lettering record.", 
                 this.getThreadId(), record.offset(), e.getMessage());
-            // Fallback to logging if JSON parsing fails
-            logRecordAsIs(record);
+            // Retrying cannot fix a malformed message
+            deadLetter(record, Stage.PARSE, attempt, e);
         } catch (IllegalArgumentException e) {
-            log.error("[CID:{}] Invalid message or unsupported vendor at offset {}: {}. Falling back to logging.", 
+            log.error("[CID:{}] Invalid message or unsupported vendor at offset {}: {}. Dead-lettering record.", 
                 this.getThreadId(), record.offset(), e.getMessage());
-            // Fallback to logging if vendor not supported
-            logRecordAsIs(record);
+            deadLetter(record, Stage.VALIDATION, attempt, e);
         } catch (Exception e) {
-            log.error("[CID:{}] Transformation error at offset {}: {}. Falling back to logging.", 
-                this.getThreadId(), record.offset(), e.getMessage(), e);
-            // Fallback to logging on any other error
+            handleFailure(record, stage, attempt, e);
+        }
+        return false;
+    }
+    
+    /**
+     * Queue a failed record for a retry, or dead-letter it once it has used its attempts
+     */
+    private void handleFailure(ConsumerRecord<String, String> record, Stage stage, int attempt, Exception e) {
+        if (retryQueue.schedule(record, attempt, e.getMessage())) {
+            retriedCounter.increment();
+            log.warn("[CID:{}] Processing error at offset {} (attempt {}): {}. Queued for retry.", 
+                this.getThreadId(), record.offset(), attempt, e.getMessage());
+        } else {
+            log.error("[CID:{}] Processing error at offset {} (attempt {}): {}. Dead-lettering record.", 
+                this.getThreadId(), record.offset(), attempt, e.getMessage(), e);
+            deadLetter(record, stage, attempt, e);
+        }
+    }
+    
+    /**
+     * Route a record that cannot be processed to the dead-letter topic; logs it as-is when the
+     * dead-letter topic is disabled. The send is confirmed before the record's offset is
+     * released (see awaitDeadLetters).
+     */
+    private void deadLetter(ConsumerRecord<String, String> record, Stage stage, int attempts, Exception error) {
+        deadLetteredCounter.increment();
+        if (!deadLetterPublisher.isEnabled()) {
             logRecordAsIs(record);
+            return;
         }
+        deadLettered.add(RecordId.of(record));
+        deadLetterSends.add(new DeadLetterSend(record, attempts, deadLetterPublisher.publish(record, stage, error, attempts)));
     }
     
     /**
@@ -159,22 +629,45 @@ public class QuilrKafkaConsumer extends AbstractBatchKafkaConsumer<String, Strin
             record.key());
     }
 
+    /**
+     * Dead-letter a failed batch and wait until its records are written; the offsets to commit
+     * are then limited like those of a processed batch, so records of earlier batches waiting
+     * for a retry are not passed. Records already dead-lettered on their own, or by an earlier
+     * attempt to dead-letter the batch, are not sent again.
+     */
     @Override
-    public void sendToDlqNative(List<ConsumerRecord<String, String>> records, Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
-        if(isDlqEnabled()){
-            for (ConsumerRecord<String, String> record : records) {
-                ProducerRecord<String, String> producerRecord = new ProducerRecord<>(getDlqTopic(), record.key(), record.value());
-                getDlqProducer().send(producerRecord, (metadata, exception) -> {
-                    if (exception == null) {
-                        log.info("[CID:{}] Sent to DLQ - Topic: {}, Offset: {}", 
-                            this.getThreadId(), getDlqTopic(), metadata.offset());
-                    } else {
-                        log.error("[CID:{}] Failed to send to DLQ: {}", 
-                            this.getThreadId(), exception.getMessage());
-                    }
-                });
+    public boolean sendToDlqNative(List<ConsumerRecord<String, String>> records, Map<TopicPartition, OffsetAndMetadata> offsetsToCommit) {
+        if (!isDlqEnabled() || !deadLetterPublisher.isEnabled()) {
+            return false;
+        }
+        Exception error = new IllegalStateException("Batch failed after " + getMaxRetries() + " retries");
+        Map<RecordId, Future<RecordMetadata>> sends = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            RecordId id = RecordId.of(record);
+            if (!deadLettered.contains(id)) {
+                sends.put(id, deadLetterPublisher.publish(record, Stage.BATCH, error, getMaxRetries()));
             }
         }
+        int failed = 0;
+        for (Map.Entry<RecordId, Future<RecordMetadata>> send : sends.entrySet()) {
+            try {
+                send.getValue().get();
+                deadLettered.add(send.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        deadLetteredCounter.increment(sends.size() - failed);
+        if (failed > 0) {
+            log.error("[CID:{}] {} of {} records of the batch could not be dead-lettered", 
+                this.getThreadId(), failed, sends.size());
+            return false;
+        }
+        releaseOffsets(offsetsToCommit);
+        return true;
     }
 
     @Override
@@ -0,0 +1,48 @@
+package com.quilr.controllers;
+
+import com.quilr.service.kafka.DeadLetterReplayService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Replay of dead-lettered records to their source topics
+ */
+@RestController
+@RequestMapping("/entities/dlq")
+@Log4j2
+public class DeadLetterController {
+
+    private final DeadLetterReplayService replayService;
+
+    public DeadLetterController(DeadLetterReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> startReplay(@RequestParam(defaultValue = "1000") int maxRecords,
+                                                           @RequestParam(defaultValue = "50") int ratePerSecond) {
+        log.info("DLQ replay requested - maxRecords: {}, ratePerSecond: {}", maxRecords, ratePerSecond);
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start(maxRecords, ratePerSecond));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/replay")
+    public ResponseEntity<Map<String, Object>> replayStatus() {
+        return ResponseEntity.ok(replayService.status());
+    }
+
+    @DeleteMapping("/replay")
+    public ResponseEntity<Map<String, Object>> stopReplay() {
+        log.info("DLQ replay stop requested");
+        return ResponseEntity.ok(replayService.stop());
+    }
+}
@@ -1,5 +1,6 @@
 package com.quilr.dto.entities;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +9,6 @@ import lombok.NoArgsConstructor;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.time.Instant;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -60,7 +60,7 @@ public class RoleEntity {
     @Builder.Default
     private Boolean isActive = true;
     
-    private Map<String, Object> extraInfo;
+    private JsonNode extraInfo;
     
     /**
      * Generate UUID if not present
@@ -1,5 +1,6 @@
 package com.quilr.dto.entities;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,6 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -105,7 +105,7 @@ public class UserEntity {
     @Builder.Default
     private Boolean isActive = true;
     
-    private Map<String, Object> extraInfo;
+    private JsonNode extraInfo;
     
     /**
      * Generate UUID if not present
@@ -0,0 +1,90 @@
+package com.quilr.mapping;
+
+import com.quilr.mapping.transform.BatchMemo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens the per-batch BatchMemo with the configured size cap and records its hit ratio.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>quilr.mapping.memo.lookups{kind, result}: memo hits and misses per kind (transform,
+ *       uuid, instant, local_date)</li>
+ *   <li>quilr.mapping.memo.hit.ratio: hit ratio of the last closed batch memo</li>
+ *   <li>quilr.mapping.memo.entries: results held per batch</li>
+ * </ul>
+ */
+@Component
+@Log4j2
+public class BatchMemoFactory {
+
+    private final Map<BatchMemo.Kind, Counter> hitCounters = new EnumMap<>(BatchMemo.Kind.class);
+    private final Map<BatchMemo.Kind, Counter> missCounters = new EnumMap<>(BatchMemo.Kind.class);
+    private final DistributionSummary entries;
+    private final AtomicLong lastHitRatioBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    @Value("${quilr.mapping.memo.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quilr.mapping.memo.max-entries:100000}")
+    private int maxEntries;
+
+    public BatchMemoFactory(MeterRegistry meterRegistry) {
+        for (BatchMemo.Kind kind : BatchMemo.Kind.values()) {
+            String tag = kind.name().toLowerCase();
+            hitCounters.put(kind, Counter.builder("quilr.mapping.memo.lookups")
+                .tag("kind", tag)
+                .tag("result", "hit")
+                .description("Batch memo lookups answered from the memo")
+                .register(meterRegistry));
+            missCounters.put(kind, Counter.builder("quilr.mapping.memo.lookups")
+                .tag("kind", tag)
+                .tag("result", "miss")
+                .description("Batch memo lookups that had to be computed")
+                .register(meterRegistry));
+        }
+        this.entries = DistributionSummary.builder("quilr.mapping.memo.entries")
+            .description("Results held by a batch memo when it was closed")
+            .register(meterRegistry);
+        meterRegistry.gauge("quilr.mapping.memo.hit.ratio", lastHitRatioBits,
+            bits -> Double.longBitsToDouble(bits.get()));
+    }
+
+    /**
+     * Open a memo for the batch processed by the current thread
+     *
+     * @return Memo to close when the batch is done, or null when memoization is disabled
+     */
+    public BatchMemo open() {
+        return enabled ? BatchMemo.open(maxEntries, this::record) : null;
+    }
+
+    private void record(BatchMemo memo) {
+        long hits = 0;
+        long lookups = 0;
+        for (BatchMemo.Kind kind : BatchMemo.Kind.values()) {
+            long kindHits = memo.hits(kind);
+            long kindMisses = memo.misses(kind);
+            hitCounters.get(kind).increment(kindHits);
+            missCounters.get(kind).increment(kindMisses);
+            hits += kindHits;
+            lookups += kindHits + kindMisses;
+        }
+        entries.record(memo.size());
+        if (lookups > 0) {
+            lastHitRatioBits.set(Double.doubleToLongBits((double) hits / lookups));
+        }
+        if (memo.size() >= maxEntries) {
+            log.debug("Batch memo reached its cap of {} entries ({} lookups, {} hits)", maxEntries, lookups, hits);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.quilr.mapping;
+
+import com.quilr.model.mapping.FieldMapping;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.List;
+
+/**
+ * Mapper for one target entity class compiled from a MappingPlan.
+ *
+ * Every decision the interpreted engine makes per field and per record (slot or JsonPath read,
+ * data type conversion, fallback paths, transform, default value, tenant/instance injection,
+ * setter lookup) is taken once when the mapper is built and captured in a chain of small
+ * functions. Mapping an entity is then a straight loop over those steps and bound setters,
+ * following the plan's priority order and first-match-wins rule for field variants.
+ *
+ * Mappers are cached on the plan they were compiled from and are discarded with it on reload.
+ */
+@Log4j2
+final class CompiledEntityMapper<T> {
+
+    /**
+     * Resolves the final value of one field for a record
+     */
+    @FunctionalInterface
+    interface FieldStep {
+        Object resolve(MappingContext context, PathSlots slots);
+    }
+
+    private final EntityBinder<T> binder;
+    @Getter
+    private final String targetEntity;
+    private final CompiledFieldMapping[] compiled;
+    private final FieldMapping[] mappings;
+    private final FieldStep[] steps;
+    private final EntityBinder.FieldSetter[] setters;
+    private final int fieldCount;
+    private final int idIndex;
+
+    CompiledEntityMapper(Class<T> targetClass, MappingPlan plan, List<FieldStep> steps) {
+        this.binder = EntityBinder.of(targetClass);
+        this.targetEntity = plan.getTargetEntity();
+        this.compiled = plan.getMappings().toArray(new CompiledFieldMapping[0]);
+        this.mappings = new FieldMapping[compiled.length];
+        this.steps = steps.toArray(new FieldStep[0]);
+        this.setters = new EntityBinder.FieldSetter[compiled.length];
+        this.fieldCount = plan.getFieldCount();
+
+        int id = -1;
+        for (int i = 0; i < compiled.length; i++) {
+            mappings[i] = compiled[i].getMapping();
+            String targetField = mappings[i].getTargetField();
+            setters[i] = binder.setterFor(targetField);
+            if (setters[i] == null) {
+                log.debug("No setter found for field: {}.{}", targetEntity, targetField);
+            }
+            if ("id".equals(targetField)) {
+                id = compiled[i].getFieldIndex();
+            }
+        }
+        this.idIndex = id;
+    }
+
+    /**
+     * Resolve the value of every mapping, in plan order. Variants of a field after the first
+     * one that produced a value, and variants whose condition does not hold, stay null.
+     */
+    Object[] resolve(MappingContext context, PathSlots slots) {
+        Object[] values = new Object[steps.length];
+        boolean[] resolved = new boolean[fieldCount];
+        for (int i = 0; i < steps.length; i++) {
+            int field = compiled[i].getFieldIndex();
+            try {
+                if (!resolved[field] && compiled[i].appliesTo(context)) {
+                    values[i] = steps[i].resolve(context, slots);
+                    resolved[field] = values[i] != null;
+                }
+            } catch (Exception e) {
+                log.error("Error mapping field {}.{}: {}", targetEntity, mappings[i].getTargetField(), e.getMessage());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Create the entity and apply resolved values through the bound setters
+     */
+    T bind(Object[] values) {
+        T entity = binder.newInstance();
+        boolean idMapped = false;
+        boolean[] resolved = new boolean[fieldCount];
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            resolved[compiled[i].getFieldIndex()] = true;
+            if (setters[i] == null) {
+                continue;
+            }
+            try {
+                if (setters[i].set(entity, value)) {
+                    idMapped |= compiled[i].getFieldIndex() == idIndex;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to set field {}: {}", mappings[i].getTargetField(), e.getMessage());
+            }
+        }
+
+        for (int i = 0; i < compiled.length; i++) {
+            if (compiled[i].isPrimaryVariant() && !resolved[compiled[i].getFieldIndex()]
+                    && Boolean.TRUE.equals(mappings[i].getRequired())) {
+                log.warn("Required field {}.{} is null (source: {})",
+                    targetEntity, mappings[i].getTargetField(), mappings[i].getSourcePath());
+            }
+        }
+
+        if ("user".equals(targetEntity) && !idMapped) {
+            log.error("CRITICAL: user.id is missing from mapped fields! (compiled mapper)");
+        }
+        return entity;
+    }
+
+    FieldMapping mappingAt(int index) {
+        return mappings[index];
+    }
+}
@@ -0,0 +1,153 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quilr.mapping.transform.CompiledTransform;
+import com.quilr.model.mapping.DataType;
+import com.quilr.model.mapping.FieldMapping;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A FieldMapping row with its source and fallback paths, condition and transform compiled up
+ * front. Instances are created when a MappingPlan is built and are immutable afterwards.
+ */
+@Getter
+@Log4j2
+public final class CompiledFieldMapping {
+
+    private final FieldMapping mapping;
+    private final CompiledPath sourcePath;
+    private final List<CompiledPath> fallbackPaths;
+
+    /**
+     * PathTrie slots of the source and fallback paths (-1 when a path is not served by the trie)
+     */
+    private final int sourceSlot;
+    private final int[] fallbackSlots;
+
+    /**
+     * Path relative to the current array element for [*] source paths (e.g. "$.data.groups[*].id"
+     * resolves "id" against each group), or null when the mapping is not element-relative
+     */
+    private final CompiledPath elementPath;
+
+    /**
+     * Compiled condition, or null when the mapping always applies
+     */
+    private final MappingCondition condition;
+
+    /**
+     * Transform bound to the mapping's transform_args, or null when there is none
+     */
+    @Getter(AccessLevel.NONE)
+    private final CompiledTransform transform;
+
+    /**
+     * Whether the transform (if any) is pure, so applying it twice gives the same value
+     */
+    private final boolean pureTransform;
+
+    /**
+     * Type the source value is read as. Same as the mapping's data type, except that TIMESTAMP
+     * and DATE fields transformed by parse_iso_date are read as text so the timestamp is parsed
+     * once, by the transform, in the format it declares.
+     */
+    private final DataType readType;
+
+    /**
+     * Index of the target field within the plan. Mappings sharing a target field are variants
+     * evaluated in priority order; the first one that applies and yields a value wins.
+     */
+    private final int fieldIndex;
+
+    /**
+     * Whether this is the highest priority variant of its target field
+     */
+    private final boolean primaryVariant;
+
+    public CompiledFieldMapping(FieldMapping mapping, PathTrie pathTrie, TransformCatalog transforms,
+                                int fieldIndex, boolean primaryVariant) {
+        this.mapping = mapping;
+        this.fieldIndex = fieldIndex;
+        this.primaryVariant = primaryVariant;
+        this.condition = MappingCondition.compile(mapping.getCondition());
+        this.transform = transforms.compile(mapping.getTransform(), mapping.getTransformArgs());
+        this.pureTransform = transform == null || transforms.isPure(mapping.getTransform());
+        this.readType = readTypeOf(mapping);
+
+        String source = mapping.getSourcePath();
+        this.sourcePath = source != null ? CompiledPath.forValue(source) : null;
+        this.elementPath = compileElementPath(source);
+
+        // Element-relative mappings are read from each array element, not from the record trie
+        this.sourceSlot = elementPath == null ? pathTrie.register(sourcePath) : -1;
+
+        List<CompiledPath> fallbacks = new ArrayList<>();
+        JsonNode fallbackNodes = mapping.getFallbackPaths();
+        if (fallbackNodes != null && fallbackNodes.isArray()) {
+            for (JsonNode fallbackPath : fallbackNodes) {
+                fallbacks.add(CompiledPath.forValue(fallbackPath.asText()));
+            }
+        }
+        this.fallbackPaths = List.copyOf(fallbacks);
+
+        this.fallbackSlots = new int[fallbackPaths.size()];
+        for (int i = 0; i < fallbackSlots.length; i++) {
+            fallbackSlots[i] = pathTrie.register(fallbackPaths.get(i));
+        }
+    }
+
+    /**
+     * Whether the mapping applies to the record (its condition holds or it has none)
+     */
+    public boolean appliesTo(MappingContext context) {
+        return condition == null || condition.test(context);
+    }
+
+    public boolean hasTransform() {
+        return transform != null;
+    }
+
+    /**
+     * Apply the mapping's transform. Transforms that read other fields of the record (like
+     * build_account_id) run even when the value is null. On error the value is kept.
+     */
+    public Object applyTransform(Object value, MappingContext context) {
+        if (transform == null) {
+            return value;
+        }
+        try {
+            return transform.apply(value, context);
+        } catch (Exception e) {
+            log.error("Error applying transform '{}' to {}.{}: {}", mapping.getTransform(),
+                mapping.getTargetEntity(), mapping.getTargetField(), e.getMessage(), e);
+            return value;
+        }
+    }
+
+    private static DataType readTypeOf(FieldMapping mapping) {
+        DataType dataType = mapping.getDataType();
+        boolean temporal = dataType == DataType.TIMESTAMP || dataType == DataType.DATE;
+        if (temporal && mapping.getTransform() != null
+                && "parse_iso_date".equalsIgnoreCase(mapping.getTransform().trim())) {
+            return DataType.STRING;
+        }
+        return dataType;
+    }
+
+    private static CompiledPath compileElementPath(String source) {
+        if (source == null || !source.contains("[*]")) {
+            return null;
+        }
+        // "$.data.groups[*]" selects the element itself
+        if (source.endsWith("[*]")) {
+            return CompiledPath.forValue("$");
+        }
+        String[] parts = source.split("\\[\\*\\]\\.", 2);
+        return parts.length > 1 ? CompiledPath.forValue(parts[1]) : null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A source path compiled once and evaluated directly against a JsonNode tree.
+ *
+ * Simple paths made of property names and array indexes (e.g. $.data.id,
+ * $.data.businessPhones[0]) are resolved by walking the tree segment by segment.
+ * Anything else (filters, deep scans, functions) is compiled into a JsonPath and
+ * evaluated through JacksonJsonNodeJsonProvider, so the payload is never
+ * serialized back to a string.
+ */
+public final class CompiledPath {
+
+    /**
+     * JsonPath configuration backed by Jackson's tree model
+     */
+    static final Configuration JSON_PATH_CONFIG = Configuration.builder()
+        .jsonProvider(new JacksonJsonNodeJsonProvider())
+        .mappingProvider(new JacksonMappingProvider())
+        .options(Option.SUPPRESS_EXCEPTIONS, Option.DEFAULT_PATH_LEAF_TO_NULL)
+        .build();
+
+    private static final Pattern SIMPLE_PATH = Pattern.compile("^\\$((\\.[A-Za-z_@$][\\w@$-]*)|(\\[\\d+]))*$");
+    private static final Pattern SEGMENT = Pattern.compile("\\.([A-Za-z_@$][\\w@$-]*)|\\[(\\d+)]");
+    /**
+     * Paths rooted at the _element or _index field of an array element context
+     */
+    private static final Pattern ELEMENT_PATH = Pattern.compile("^\\$(\\._(element|index)|\\['_(element|index)'])(?![\\w@$-]).*");
+
+    @Getter
+    private final String expression;
+    private final boolean referencesElement;
+    private final String[] fieldNames;
+    private final int[] indexes;
+    private final JsonPath jsonPath;
+
+    private CompiledPath(String expression, String[] fieldNames, int[] indexes, JsonPath jsonPath) {
+        this.expression = expression;
+        this.referencesElement = ELEMENT_PATH.matcher(expression).matches();
+        this.fieldNames = fieldNames;
+        this.indexes = indexes;
+        this.jsonPath = jsonPath;
+    }
+
+    /**
+     * Compile a path used for single value extraction.
+     * A [*] wildcard is narrowed to the first element, matching the interpreted engine.
+     *
+     * @param path Source path with or without the leading $ (e.g., "$.data.mail", "data.mail")
+     * @return Compiled path
+     */
+    public static CompiledPath forValue(String path) {
+        String expression = normalize(path);
+        if (expression.contains("[*]")) {
+            expression = expression.replace("[*]", "[0]");
+        }
+        return compileExpression(expression);
+    }
+
+    /**
+     * Compile a path used to select a node as-is (e.g., an array such as "data.groups")
+     *
+     * @param path Source path with or without the leading $
+     * @return Compiled path
+     */
+    public static CompiledPath forNode(String path) {
+        return compileExpression(normalize(path));
+    }
+
+    private static String normalize(String path) {
+        if (path.startsWith("$")) {
+            return path;
+        }
+        return path.startsWith("[") ? "$" + path : "$." + path;
+    }
+
+    private static CompiledPath compileExpression(String expression) {
+        if (!SIMPLE_PATH.matcher(expression).matches()) {
+            return new CompiledPath(expression, null, null, JsonPath.compile(expression));
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Integer> idx = new ArrayList<>();
+        Matcher matcher = SEGMENT.matcher(expression);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                names.add(matcher.group(1));
+                idx.add(-1);
+            } else {
+                names.add(null);
+                idx.add(Integer.parseInt(matcher.group(2)));
+            }
+        }
+
+        int[] indexes = new int[idx.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = idx.get(i);
+        }
+        return new CompiledPath(expression, names.toArray(new String[0]), indexes, null);
+    }
+
+    /**
+     * Whether this path is resolved by direct tree navigation rather than JsonPath
+     */
+    public boolean isSimple() {
+        return jsonPath == null;
+    }
+
+    /**
+     * Whether the path reads the _element/_index fields of an array element context
+     */
+    public boolean referencesElement() {
+        return referencesElement;
+    }
+
+    /**
+     * Evaluate the path against a JsonNode tree.
+     *
+     * @param root Tree to evaluate against
+     * @return The selected JsonNode for simple paths; whatever JsonPath yields otherwise
+     *         (a JsonNode or an unwrapped scalar). Null when nothing matches.
+     */
+    public Object read(JsonNode root) {
+        if (root == null) {
+            return null;
+        }
+        if (jsonPath != null) {
+            return jsonPath.read(root, JSON_PATH_CONFIG);
+        }
+        return walk(root);
+    }
+
+    int segmentCount() {
+        return indexes.length;
+    }
+
+    String fieldName(int segment) {
+        return fieldNames[segment];
+    }
+
+    int index(int segment) {
+        return indexes[segment];
+    }
+
+    private JsonNode walk(JsonNode root) {
+        return walkFrom(root, 0);
+    }
+
+    /**
+     * Walk a simple path starting at the given segment (e.g. skipping "_element" when the
+     * element node itself is the starting point)
+     */
+    JsonNode walkFrom(JsonNode start, int firstSegment) {
+        JsonNode current = start;
+        for (int i = firstSegment; i < indexes.length; i++) {
+            if (current == null || current.isNull()) {
+                return null;
+            }
+            current = indexes[i] < 0 ? current.get(fieldNames[i]) : current.get(indexes[i]);
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
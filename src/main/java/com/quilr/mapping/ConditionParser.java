@@ -0,0 +1,203 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for MappingCondition expressions:
+ * or := and ('||' and)*, and := unary ('&&' unary)*,
+ * unary := '!' unary | '(' or ')' | exists(path) | path (op literal)?
+ */
+final class ConditionParser {
+
+    private final String text;
+    private final List<String> tokens;
+    private int pos;
+
+    ConditionParser(String text) {
+        this.text = text;
+        this.tokens = tokenize(text);
+    }
+
+    MappingCondition parse() {
+        MappingCondition condition = parseOr();
+        if (pos < tokens.size()) {
+            throw error("unexpected '" + tokens.get(pos) + "'");
+        }
+        return condition;
+    }
+
+    private MappingCondition parseOr() {
+        MappingCondition left = parseAnd();
+        while (accept("||")) {
+            MappingCondition first = left;
+            MappingCondition second = parseAnd();
+            left = context -> first.test(context) || second.test(context);
+        }
+        return left;
+    }
+
+    private MappingCondition parseAnd() {
+        MappingCondition left = parseUnary();
+        while (accept("&&")) {
+            MappingCondition first = left;
+            MappingCondition second = parseUnary();
+            left = context -> first.test(context) && second.test(context);
+        }
+        return left;
+    }
+
+    private MappingCondition parseUnary() {
+        if (accept("!")) {
+            MappingCondition inner = parseUnary();
+            return context -> !inner.test(context);
+        }
+        if (accept("(")) {
+            MappingCondition inner = parseOr();
+            expect(")");
+            return inner;
+        }
+        if (accept("exists")) {
+            expect("(");
+            String path = path(next());
+            expect(")");
+            return context -> {
+                JsonNode node = context.lookup(path);
+                return node != null && !node.isNull();
+            };
+        }
+
+        String path = path(next());
+        if (accept("==")) {
+            Object literal = literal(next());
+            return context -> matches(context.lookup(path), literal);
+        }
+        if (accept("!=")) {
+            Object literal = literal(next());
+            return context -> !matches(context.lookup(path), literal);
+        }
+        // A bare path is truthy when present and not false/null
+        return context -> {
+            JsonNode node = context.lookup(path);
+            return node != null && !node.isNull() && !(node.isBoolean() && !node.asBoolean());
+        };
+    }
+
+    private static boolean matches(JsonNode node, Object literal) {
+        if (literal == null) {
+            return node == null || node.isNull();
+        }
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return false;
+        }
+        if (literal instanceof Boolean) {
+            return node.isBoolean() ? node.asBoolean() == (Boolean) literal : node.asText().equalsIgnoreCase(literal.toString());
+        }
+        if (literal instanceof BigDecimal) {
+            if (node.isNumber()) {
+                return node.decimalValue().compareTo((BigDecimal) literal) == 0;
+            }
+            return node.asText().equals(literal.toString());
+        }
+        return node.asText().equals(literal);
+    }
+
+    private String path(String token) {
+        if (token.startsWith("'") || token.startsWith("\"") || isOperator(token)) {
+            throw error("expected a path but found '" + token + "'");
+        }
+        return token.startsWith("$.") ? token.substring(2) : token;
+    }
+
+    private Object literal(String token) {
+        if (token.startsWith("'") || token.startsWith("\"")) {
+            return token.substring(1, token.length() - 1);
+        }
+        switch (token) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                try {
+                    return new BigDecimal(token);
+                } catch (NumberFormatException e) {
+                    throw error("invalid literal '" + token + "'");
+                }
+        }
+    }
+
+    private boolean accept(String token) {
+        if (pos < tokens.size() && tokens.get(pos).equals(token)) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("expected '" + token + "'");
+        }
+    }
+
+    private String next() {
+        if (pos >= tokens.size()) {
+            throw error("unexpected end of expression");
+        }
+        return tokens.get(pos++);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid condition \"" + text + "\": " + message);
+    }
+
+    private static boolean isOperator(String token) {
+        return switch (token) {
+            case "==", "!=", "&&", "||", "!", "(", ")" -> true;
+            default -> false;
+        };
+    }
+
+    private List<String> tokenize(String input) {
+        List<String> result = new ArrayList<>();
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                int end = input.indexOf(c, i + 1);
+                if (end < 0) {
+                    throw error("unterminated string");
+                }
+                result.add(input.substring(i, end + 1));
+                i = end + 1;
+            } else if (input.startsWith("==", i) || input.startsWith("!=", i)
+                    || input.startsWith("&&", i) || input.startsWith("||", i)) {
+                result.add(input.substring(i, i + 2));
+                i += 2;
+            } else if (c == '!' || c == '(' || c == ')') {
+                result.add(String.valueOf(c));
+                i++;
+            } else {
+                int start = i;
+                while (i < input.length() && !Character.isWhitespace(input.charAt(i))
+                        && "()!=&|'\"".indexOf(input.charAt(i)) < 0) {
+                    i++;
+                }
+                if (i == start) {
+                    // A lone '=', '&' or '|'
+                    throw error("unexpected '" + c + "'");
+                }
+                result.add(input.substring(start, i));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package com.quilr.mapping;
+
+import com.quilr.mapping.transform.BatchMemo;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generated constructor and setters for one entity DTO (UserEntity, GroupEntity, ...).
+ *
+ * The no-arg constructor and every public single-argument setter are bound once through
+ * LambdaMetafactory, so creating an entity and setting a field are plain interface calls
+ * instead of reflective lookups and Method.invoke. Setters are indexed by target field name
+ * and carry a coercion for the setter's parameter type, chosen when the binder is built.
+ */
+@Log4j2
+public final class EntityBinder<T> {
+
+    private static final ClassValue<EntityBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected EntityBinder<?> computeValue(Class<?> type) {
+            return new EntityBinder<>(type);
+        }
+    };
+
+    private final Class<T> targetClass;
+    private final Supplier<T> constructor;
+    private final Map<String, Method> settersByName = new HashMap<>();
+    private final Map<String, Optional<FieldSetter>> settersByField = new ConcurrentHashMap<>();
+
+    private EntityBinder(Class<T> targetClass) {
+        this.targetClass = targetClass;
+        this.constructor = bindConstructor(targetClass);
+        for (Method method : targetClass.getMethods()) {
+            if (method.getName().startsWith("set") && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                settersByName.putIfAbsent(method.getName(), method);
+            }
+        }
+    }
+
+    /**
+     * Get the binder for an entity class, generating it on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityBinder<T> of(Class<T> targetClass) {
+        return (EntityBinder<T>) BINDERS.get(targetClass);
+    }
+
+    /**
+     * Create a new entity instance through its no-arg constructor
+     */
+    public T newInstance() {
+        return constructor.get();
+    }
+
+    /**
+     * Set a field on the entity, coercing the value to the setter's parameter type if needed.
+     *
+     * @param instance Entity instance
+     * @param fieldName Target field name (e.g., "displayName")
+     * @param value Value to set
+     * @return false if the entity has no setter for the field or the value cannot be coerced
+     */
+    public boolean set(T instance, String fieldName, Object value) {
+        FieldSetter setter = setterFor(fieldName);
+        if (setter == null) {
+            log.debug("No setter found for field: {}", fieldName);
+            return false;
+        }
+        return setter.set(instance, value);
+    }
+
+    /**
+     * Bound setter for a target field, or null if the entity has no such field
+     */
+    FieldSetter setterFor(String fieldName) {
+        return settersByField.computeIfAbsent(fieldName, this::bindSetter).orElse(null);
+    }
+
+    private Optional<FieldSetter> bindSetter(String fieldName) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            return Optional.empty();
+        }
+        String setterName = "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        Method method = settersByName.get(setterName);
+        if (method == null) {
+            return Optional.empty();
+        }
+
+        Class<?> paramType = MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType();
+        return Optional.of(new FieldSetter(fieldName, paramType, bindSetterLambda(method, paramType), coercionFor(paramType)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> bindConstructor(Class<T> targetClass) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.findConstructor(targetClass, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(targetClass));
+            return (Supplier<T>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("No accessible no-arg constructor on " + targetClass.getSimpleName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Object, Object> bindSetterLambda(Method method, Class<?> paramType) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, targetClass, paramType));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // Setter declared on a non-public supertype or similar: fall back to a plain method handle
+            log.debug("Falling back to MethodHandle for {}.{}: {}", targetClass.getSimpleName(), method.getName(), e.getMessage());
+            try {
+                MethodHandle handle = lookup.unreflect(method)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return (instance, value) -> {
+                    try {
+                        handle.invokeExact(instance, value);
+                    } catch (RuntimeException ex) {
+                        throw ex;
+                    } catch (Throwable ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                };
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Setter not accessible: " + method, ex);
+            }
+        }
+    }
+
+    /**
+     * Coercion applied when a mapped value is not already an instance of the setter's type.
+     * Returns null for values that cannot be converted; such fields are skipped.
+     */
+    private static Function<Object, Object> coercionFor(Class<?> paramType) {
+        if (paramType == String.class) {
+            return Object::toString;
+        }
+        if (paramType == UUID.class) {
+            return value -> value instanceof String s ? BatchMemo.uuid(s) : null;
+        }
+        if (paramType == Instant.class) {
+            // parse_iso_date yields a LocalDate for plain dates
+            return value -> value instanceof String s ? BatchMemo.instant(s)
+                : value instanceof LocalDate d ? d.atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+        }
+        if (paramType == LocalDate.class) {
+            return value -> value instanceof String s ? BatchMemo.localDate(s) : null;
+        }
+        if (paramType == Boolean.class) {
+            return value -> value instanceof String s ? Boolean.valueOf(s) : null;
+        }
+        if (paramType == Integer.class) {
+            return value -> value instanceof Number n ? Integer.valueOf(n.intValue()) : null;
+        }
+        if (paramType == Long.class) {
+            return value -> value instanceof Number n ? Long.valueOf(n.longValue()) : null;
+        }
+        if (paramType == Double.class) {
+            return value -> value instanceof Number n ? Double.valueOf(n.doubleValue()) : null;
+        }
+        return value -> null;
+    }
+
+    static final class FieldSetter {
+        private final String fieldName;
+        private final Class<?> paramType;
+        private final BiConsumer<Object, Object> setter;
+        private final Function<Object, Object> coercion;
+
+        private FieldSetter(String fieldName, Class<?> paramType, BiConsumer<Object, Object> setter,
+                            Function<Object, Object> coercion) {
+            this.fieldName = fieldName;
+            this.paramType = paramType;
+            this.setter = setter;
+            this.coercion = coercion;
+        }
+
+        boolean set(Object instance, Object value) {
+            Object coerced = value == null || paramType.isInstance(value) ? value : coercion.apply(value);
+            if (coerced == null && value != null) {
+                log.debug("Cannot assign {} to field {} of type {}",
+                    value.getClass().getSimpleName(), fieldName, paramType.getSimpleName());
+                return false;
+            }
+            setter.accept(instance, coerced);
+            return true;
+        }
+    }
+}
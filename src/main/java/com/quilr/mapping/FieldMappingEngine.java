@@ -4,51 +4,87 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.Option;
-import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
-import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.quilr.dto.RawEntityMessage;
+import com.quilr.mapping.transform.BatchMemo;
 import com.quilr.model.mapping.DataType;
 import com.quilr.model.mapping.FieldMapping;
-import com.quilr.repository.FieldMappingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
-import java.time.Instant;
-import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * Field mapping engine that extracts values from JSON payloads using JsonPath
+ * Field mapping engine that extracts values from JSON payloads using precompiled paths
  * and maps them to entity objects dynamically
  */
 @Component
 @Log4j2
 public class FieldMappingEngine {
     
-    private final FieldMappingRepository fieldMappingRepository;
-    private final TransformEngine transformEngine;
+    private final MappingPlanRegistry mappingPlanRegistry;
     private final ObjectMapper objectMapper;
-    private final Configuration jsonPathConfig;
+    private final Map<String, CompiledPath> arrayPaths = new ConcurrentHashMap<>();
+    private final Counter compiledMismatchCounter;
+    
+    /**
+     * Map single entities through mappers compiled from the plan instead of interpreting
+     * each field mapping per record. Entity lists are always interpreted.
+     */
+    @Value("${quilr.mapping.compiled.enabled:false}")
+    private boolean compiledMode;
+    
+    /**
+     * Fraction of compiled mappings that are re-run through the interpreted path and compared
+     */
+    @Value("${quilr.mapping.compiled.verify-sample-rate:0.0}")
+    private double verifySampleRate;
     
     public FieldMappingEngine(
-            FieldMappingRepository fieldMappingRepository,
-            TransformEngine transformEngine,
-            ObjectMapper objectMapper) {
-        this.fieldMappingRepository = fieldMappingRepository;
-        this.transformEngine = transformEngine;
+            MappingPlanRegistry mappingPlanRegistry,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.mappingPlanRegistry = mappingPlanRegistry;
         this.objectMapper = objectMapper;
-        
-        // Configure JsonPath to use Jackson
-        this.jsonPathConfig = Configuration.builder()
-            .jsonProvider(new JacksonJsonNodeJsonProvider())
-            .mappingProvider(new JacksonMappingProvider())
-            .options(Option.SUPPRESS_EXCEPTIONS, Option.DEFAULT_PATH_LEAF_TO_NULL)
-            .build();
+        this.compiledMismatchCounter = Counter.builder("quilr.mapping.compiled.mismatches")
+            .description("Fields where the compiled mapper disagreed with the interpreted engine")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Create the per-record mapping context shared by all mapping calls for a message.
+     * The current mapping snapshot is pinned for the record, the payload is wrapped once,
+     * context ids are parsed once and all source paths configured for the vendor/entity type
+     * are resolved in a single pass over the payload.
+     * 
+     * @param source Source JSON payload
+     * @param message Raw entity message context
+     * @return Mapping context for the record
+     */
+    public MappingContext createContext(JsonNode source, RawEntityMessage message) {
+        return createContext(source, message, false);
+    }
+    
+    /**
+     * Create the per-record mapping context
+     * 
+     * @param source Source JSON payload
+     * @param message Raw entity message context
+     * @param concurrent Whether target entities of the record are mapped from several threads
+     * @return Mapping context for the record
+     */
+    public MappingContext createContext(JsonNode source, RawEntityMessage message, boolean concurrent) {
+        MappingSnapshot snapshot = mappingPlanRegistry.getSnapshot();
+        JsonNode fullContext = buildFullContext(source, message);
+        PathTrie pathTrie = snapshot.getPathTrie(message.getVendor(), message.getEntityType().name().toLowerCase());
+        return new MappingContext(message, snapshot, fullContext,
+            pathTrie != null ? pathTrie.extract(fullContext) : null, concurrent);
     }
     
     /**
@@ -60,16 +96,26 @@ public class FieldMappingEngine {
      * @return Mapped entity instance
      */
     public <T> T mapEntity(JsonNode source, RawEntityMessage context, Class<T> targetClass) {
+        return mapEntity(createContext(source, context), targetClass);
+    }
+    
+    /**
+     * Map a single entity using a per-record mapping context
+     * 
+     * @param context Mapping context from createContext
+     * @param targetClass Target entity class
+     * @return Mapped entity instance
+     */
+    public <T> T mapEntity(MappingContext context, Class<T> targetClass) {
         String vendor = context.getVendor();
-        String entityType = context.getEntityType().name().toLowerCase();
+        String entityType = context.getEntityType();
         String targetEntity = getTargetEntityName(targetClass);
         
         log.debug("Mapping entity: vendor={}, entityType={}, targetEntity={}", vendor, entityType, targetEntity);
         
-        // Load field mappings for this target entity
-        List<FieldMapping> mappings = fieldMappingRepository.findByVendorAndEntityTypeAndTargetEntity(
-            vendor, entityType, targetEntity
-        );
+        // Resolve field mappings for this target entity from the snapshot pinned for the record
+        MappingPlan plan = mappingPlanRegistry.getPlan(context.getSnapshot(), vendor, entityType, targetEntity);
+        List<CompiledFieldMapping> mappings = plan.getMappings();
         
         if (mappings.isEmpty()) {
             log.warn("No field mappings found for vendor={}, entityType={}, targetEntity={}", 
@@ -77,39 +123,34 @@ public class FieldMappingEngine {
             return null;
         }
         
-        // Build full context by merging source with context fields
-        JsonNode fullContext = buildFullContext(source, context);
+        // Slots are only usable if they were produced by this plan's trie
+        PathSlots slots = context.slotsFor(plan.getPathTrie());
+        
+        if (compiledMode) {
+            return mapEntityCompiled(plan, targetClass, context, slots);
+        }
+        
+        EntityBinder<T> binder = EntityBinder.of(targetClass);
+        T entity = newEntityInstance(binder, targetClass);
+        if (entity == null) {
+            return null;
+        }
         
-        // Extract and map all fields
-        Map<String, Object> fieldValues = new HashMap<>();
+        // Extract and map all fields directly onto the entity, in priority order
+        boolean idMapped = false;
+        boolean[] resolved = new boolean[plan.getFieldCount()];
         
-        for (FieldMapping mapping : mappings) {
+        for (CompiledFieldMapping compiled : mappings) {
+            FieldMapping mapping = compiled.getMapping();
             try {
-                Object value = extractAndTransformField(mapping, fullContext);
-                
-                // Handle default values
-                if (value == null && mapping.getDefaultValue() != null) {
-                    value = parseDefaultValue(mapping.getDefaultValue(), mapping.getDataType());
-                    log.trace("Using default value for {}.{}: {}", targetEntity, mapping.getTargetField(), value);
-                }
-                
-                // Add tenantId from context for entities that need it
-                if ("tenantId".equals(mapping.getTargetField()) && value == null) {
-                    value = extractTenantId(context);
-                }
-                
-                // Add instanceId from context for entities that need it
-                if ("instanceId".equals(mapping.getTargetField()) && value == null) {
-                    value = extractInstanceId(context);
-                }
+                Object value = resolveVariant(compiled, context, slots, resolved);
                 
                 if (value != null) {
-                    fieldValues.put(mapping.getTargetField(), value);
+                    if (setField(binder, entity, mapping.getTargetField(), value)) {
+                        idMapped |= "id".equals(mapping.getTargetField());
+                    }
                     log.trace("Mapped {}.{} = {} (from: {})", 
                         targetEntity, mapping.getTargetField(), value, mapping.getSourcePath());
-                } else if (mapping.getRequired() != null && mapping.getRequired()) {
-                    log.warn("Required field {}.{} is null (source: {})", 
-                        targetEntity, mapping.getTargetField(), mapping.getSourcePath());
                 }
                 
             } catch (Exception e) {
@@ -117,13 +158,200 @@ public class FieldMappingEngine {
             }
         }
         
-        // Validate critical fields before building entity
-        if ("user".equals(targetEntity) && !fieldValues.containsKey("id")) {
-            log.error("CRITICAL: user.id is missing from field values! Available fields: {}", fieldValues.keySet());
+        warnMissingRequired(mappings, resolved, targetEntity);
+        
+        // Validate critical fields
+        if ("user".equals(targetEntity) && !idMapped) {
+            log.error("CRITICAL: user.id is missing from mapped fields! (vendor={}, entityType={})", vendor, entityType);
+        }
+        
+        return entity;
+    }
+    
+    /**
+     * Resolve one variant of a target field. Returns null without evaluating anything if an
+     * earlier (higher priority) variant already produced the field or the condition does not hold.
+     */
+    private Object resolveVariant(CompiledFieldMapping compiled, MappingContext context,
+                                  PathSlots slots, boolean[] resolved) {
+        if (resolved[compiled.getFieldIndex()] || !compiled.appliesTo(context)) {
+            return null;
+        }
+        Object value = resolveFieldValue(compiled, context, slots);
+        if (value != null) {
+            resolved[compiled.getFieldIndex()] = true;
+        }
+        return value;
+    }
+    
+    /**
+     * Log required fields that no variant produced a value for
+     */
+    private void warnMissingRequired(List<CompiledFieldMapping> mappings, boolean[] resolved, String targetEntity) {
+        for (CompiledFieldMapping compiled : mappings) {
+            FieldMapping mapping = compiled.getMapping();
+            if (compiled.isPrimaryVariant() && !resolved[compiled.getFieldIndex()] && Boolean.TRUE.equals(mapping.getRequired())) {
+                log.warn("Required field {}.{} is null (source: {})", 
+                    targetEntity, mapping.getTargetField(), mapping.getSourcePath());
+            }
+        }
+    }
+    
+    /**
+     * Resolve the final value of a single-entity field: extract, transform, default and
+     * tenant/instance injection from the message context
+     */
+    private Object resolveFieldValue(CompiledFieldMapping compiled, MappingContext context, PathSlots slots) {
+        FieldMapping mapping = compiled.getMapping();
+        Object value = extractAndTransformField(compiled, context, slots);
+        
+        // Handle default values
+        if (value == null && mapping.getDefaultValue() != null) {
+            value = parseDefaultValue(mapping.getDefaultValue(), mapping.getDataType());
+            log.trace("Using default value for {}.{}: {}", mapping.getTargetEntity(), mapping.getTargetField(), value);
+        }
+        
+        // Add tenantId from context for entities that need it
+        if ("tenantId".equals(mapping.getTargetField()) && value == null) {
+            value = context.getTenantId();
+        }
+        
+        // Add instanceId from context for entities that need it
+        if ("instanceId".equals(mapping.getTargetField()) && value == null) {
+            value = context.getInstanceId();
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Map a single entity through the plan's compiled mapper, optionally re-running a sample
+     * of records through the interpreted path to detect divergence
+     */
+    private <T> T mapEntityCompiled(MappingPlan plan, Class<T> targetClass, MappingContext context, PathSlots slots) {
+        CompiledEntityMapper<T> mapper;
+        try {
+            mapper = plan.compiledMapper(targetClass, p -> compileMapper(p, targetClass));
+        } catch (Exception e) {
+            log.error("Failed to build entity instance for {}: {}", targetClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+        
+        Object[] values = mapper.resolve(context, slots);
+        
+        if (verifySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < verifySampleRate) {
+            verifyCompiled(plan, mapper, values, context, slots);
+        }
+        
+        return mapper.bind(values);
+    }
+    
+    /**
+     * Compare compiled field values with the interpreted engine on the same record. Fields with
+     * an impure transform are not compared: it may not give the same value twice (e.g.
+     * uuid_from_bytes without fields is random).
+     */
+    private void verifyCompiled(MappingPlan plan, CompiledEntityMapper<?> mapper, Object[] values,
+                                MappingContext context, PathSlots slots) {
+        List<CompiledFieldMapping> mappings = plan.getMappings();
+        boolean[] resolved = new boolean[plan.getFieldCount()];
+        for (int i = 0; i < mappings.size(); i++) {
+            if (!mappings.get(i).isPureTransform()) {
+                // Later variants of the field resolve as they did in the compiled mapper
+                if (values[i] != null) {
+                    resolved[mappings.get(i).getFieldIndex()] = true;
+                }
+                continue;
+            }
+            Object interpreted;
+            try {
+                interpreted = resolveVariant(mappings.get(i), context, slots, resolved);
+            } catch (Exception e) {
+                interpreted = null;
+            }
+            if (!Objects.equals(interpreted, values[i])) {
+                compiledMismatchCounter.increment();
+                log.warn("Compiled mapper mismatch for {}.{}: compiled={}, interpreted={}",
+                    mapper.getTargetEntity(), mapper.mappingAt(i).getTargetField(), values[i], interpreted);
+            }
+        }
+    }
+    
+    /**
+     * Compile a plan into a mapper for the target class.
+     * Branches on slot availability, data type, fallbacks, transform and defaults are resolved
+     * here once instead of per record.
+     */
+    private <T> CompiledEntityMapper<T> compileMapper(MappingPlan plan, Class<T> targetClass) {
+        List<CompiledEntityMapper.FieldStep> steps = new ArrayList<>(plan.getMappings().size());
+        
+        for (CompiledFieldMapping compiled : plan.getMappings()) {
+            steps.add(compileStep(compiled));
         }
         
-        // Build entity instance from field values
-        return buildEntityInstance(targetClass, fieldValues);
+        log.info("Compiled mapper for {} ({} mappings, vendor={}, entityType={})",
+            targetClass.getSimpleName(), steps.size(), plan.getVendor(), plan.getEntityType());
+        return new CompiledEntityMapper<>(targetClass, plan, steps);
+    }
+    
+    private CompiledEntityMapper.FieldStep compileStep(CompiledFieldMapping compiled) {
+        FieldMapping mapping = compiled.getMapping();
+        DataType dataType = mapping.getDataType();
+        DataType readType = compiled.getReadType();
+        
+        CompiledEntityMapper.FieldStep primary = compileRead(compiled.getSourceSlot(), compiled.getSourcePath(), readType);
+        CompiledEntityMapper.FieldStep[] fallbacks = new CompiledEntityMapper.FieldStep[compiled.getFallbackSlots().length];
+        for (int i = 0; i < fallbacks.length; i++) {
+            fallbacks[i] = compileRead(compiled.getFallbackSlots()[i], compiled.getFallbackPaths().get(i), readType);
+        }
+        
+        CompiledEntityMapper.FieldStep read = fallbacks.length == 0 ? primary : (ctx, slots) -> {
+            Object value = primary.resolve(ctx, slots);
+            for (int i = 0; value == null && i < fallbacks.length; i++) {
+                value = fallbacks[i].resolve(ctx, slots);
+            }
+            return value;
+        };
+        
+        CompiledEntityMapper.FieldStep transformed = !compiled.hasTransform() ? read
+            : (ctx, slots) -> compiled.applyTransform(read.resolve(ctx, slots), ctx);
+        
+        // Default value is parsed once; tenantId/instanceId are injected from the message
+        Object defaultValue = null;
+        if (mapping.getDefaultValue() != null) {
+            try {
+                defaultValue = parseDefaultValue(mapping.getDefaultValue(), dataType);
+            } catch (Exception e) {
+                log.error("Invalid default value for {}.{}: {}", mapping.getTargetEntity(), mapping.getTargetField(), e.getMessage());
+            }
+        }
+        Object fallbackValue = defaultValue;
+        Function<MappingContext, Object> injected = switch (mapping.getTargetField()) {
+            case "tenantId" -> MappingContext::getTenantId;
+            case "instanceId" -> MappingContext::getInstanceId;
+            default -> null;
+        };
+        
+        if (fallbackValue == null && injected == null) {
+            return transformed;
+        }
+        return (ctx, slots) -> {
+            Object value = transformed.resolve(ctx, slots);
+            if (value == null) {
+                value = fallbackValue;
+            }
+            if (value == null && injected != null) {
+                value = injected.apply(ctx);
+            }
+            return value;
+        };
+    }
+    
+    private CompiledEntityMapper.FieldStep compileRead(int slot, CompiledPath path, DataType dataType) {
+        if (slot < 0) {
+            return (ctx, slots) -> extractValue(ctx, path, dataType);
+        }
+        return (ctx, slots) -> extractValue(ctx, slots, slot, path, dataType);
     }
     
     /**
@@ -137,66 +365,104 @@ public class FieldMappingEngine {
      * @return List of mapped entity instances
      */
     public <T> List<T> mapEntityList(JsonNode source, RawEntityMessage context, Class<T> targetClass, String arrayPath) {
+        return mapEntityList(createContext(source, context), targetClass, arrayPath);
+    }
+    
+    /**
+     * Map a list of entities from an array using a per-record mapping context
+     * 
+     * @param context Mapping context from createContext
+     * @param targetClass Target entity class
+     * @param arrayPath Path to the array (e.g., "data.groups")
+     * @return List of mapped entity instances
+     */
+    public <T> List<T> mapEntityList(MappingContext context, Class<T> targetClass, String arrayPath) {
+        List<T> entities = new ArrayList<>();
+        forEachEntity(context, targetClass, arrayPath, entities::add);
+        return entities;
+    }
+    
+    /**
+     * Map the elements of an array one at a time, handing each mapped entity to the action
+     * as soon as it is complete. Only the entity being mapped is held, so callers can stream
+     * very large arrays (e.g. in chunks to the output stage) without building the whole list.
+     * 
+     * @param context Mapping context from createContext
+     * @param targetClass Target entity class
+     * @param arrayPath Path to the array (e.g., "data.groups")
+     * @param action Receives each mapped entity in array order
+     * @return Number of entities mapped
+     */
+    public <T> int forEachEntity(MappingContext context, Class<T> targetClass, String arrayPath,
+                                 Consumer<? super T> action) {
         String vendor = context.getVendor();
-        String entityType = context.getEntityType().name().toLowerCase();
+        String entityType = context.getEntityType();
         String targetEntity = getTargetEntityName(targetClass);
         
         log.debug("Mapping entity list: vendor={}, entityType={}, targetEntity={}, arrayPath={}", 
             vendor, entityType, targetEntity, arrayPath);
         
-        // Load field mappings for this target entity
-        List<FieldMapping> mappings = fieldMappingRepository.findByVendorAndEntityTypeAndTargetEntity(
-            vendor, entityType, targetEntity
-        );
+        // Resolve field mappings for this target entity from the snapshot pinned for the record
+        MappingPlan plan = mappingPlanRegistry.getPlan(context.getSnapshot(), vendor, entityType, targetEntity);
+        List<CompiledFieldMapping> mappings = plan.getMappings();
         
         if (mappings.isEmpty()) {
             log.warn("No field mappings found for vendor={}, entityType={}, targetEntity={}", 
                 vendor, entityType, targetEntity);
-            return Collections.emptyList();
+            return 0;
         }
         
-        // Build full context
-        JsonNode fullContext = buildFullContext(source, context);
-        
         // Extract array from source
-        JsonNode arrayNode = extractArrayNode(fullContext, arrayPath);
+        JsonNode arrayNode = extractArrayNode(context, arrayPath);
         
         if (arrayNode == null) {
             log.warn("Array extraction returned null for path: {} (targetEntity: {})", arrayPath, targetEntity);
-            return Collections.emptyList();
+            return 0;
         }
         
         if (!arrayNode.isArray()) {
             log.warn("Extracted node at path {} is not an array, it's a {}: {}", 
                 arrayPath, arrayNode.getNodeType(), arrayNode);
-            return Collections.emptyList();
+            return 0;
         }
         
         if (arrayNode.isEmpty()) {
             log.debug("Array at path {} is empty (targetEntity: {})", arrayPath, targetEntity);
-            return Collections.emptyList();
+            return 0;
         }
         
         log.debug("Successfully extracted array at path {} with {} elements (targetEntity: {})", 
             arrayPath, arrayNode.size(), targetEntity);
         
-        List<T> entities = new ArrayList<>();
-        UUID tenantId = extractTenantId(context);
+        int mapped = 0;
+        UUID tenantId = context.getTenantId();
+        EntityBinder<T> binder = EntityBinder.of(targetClass);
+        PathSlots slots = context.slotsFor(plan.getPathTrie());
         
         // Iterate over each element in the array
         for (int i = 0; i < arrayNode.size(); i++) {
             JsonNode element = arrayNode.get(i);
+            T entity;
             
             try {
-                // Create element context by merging array element with parent context
-                JsonNode elementContext = createElementContext(fullContext, element, arrayPath, i);
+                // Overlay _element/_index on the record context without copying it
+                MappingContext elementContext = context.forElement(element, i);
+                
+                entity = newEntityInstance(binder, targetClass);
+                if (entity == null) {
+                    continue;
+                }
                 
-                Map<String, Object> fieldValues = new HashMap<>();
+                boolean[] resolved = new boolean[plan.getFieldCount()];
                 
-                for (FieldMapping mapping : mappings) {
+                for (CompiledFieldMapping compiled : mappings) {
+                    FieldMapping mapping = compiled.getMapping();
+                    if (resolved[compiled.getFieldIndex()] || !compiled.appliesTo(elementContext)) {
+                        continue;
+                    }
                     try {
                         Object value = extractAndTransformFieldForArrayElement(
-                            mapping, elementContext, element, i
+                            compiled, elementContext, element, slots
                         );
                         
                         // Handle default values
@@ -210,7 +476,8 @@ public class FieldMappingEngine {
                         }
                         
                         if (value != null) {
-                            fieldValues.put(mapping.getTargetField(), value);
+                            resolved[compiled.getFieldIndex()] = true;
+                            setField(binder, entity, mapping.getTargetField(), value);
                         }
                         
                     } catch (Exception e) {
@@ -219,32 +486,33 @@ public class FieldMappingEngine {
                     }
                 }
                 
-                // Build entity instance
-                T entity = buildEntityInstance(targetClass, fieldValues);
-                if (entity != null) {
-                    entities.add(entity);
-                }
-                
             } catch (Exception e) {
                 log.error("Error mapping array element at index {}: {}", i, e.getMessage());
+                continue;
             }
+            
+            // Outside the try: failures of the consumer (e.g. the output stage) propagate
+            action.accept(entity);
+            mapped++;
         }
         
-        log.debug("Mapped {} entities for {}", entities.size(), targetEntity);
-        return entities;
+        log.debug("Mapped {} entities for {}", mapped, targetEntity);
+        return mapped;
     }
     
     /**
      * Extract and transform a field value
      */
-    private Object extractAndTransformField(FieldMapping mapping, JsonNode context) {
+    private Object extractAndTransformField(CompiledFieldMapping compiled, MappingContext context, PathSlots slots) {
         // Extract raw value
-        Object value = extractValue(context, mapping.getSourcePath(), mapping.getDataType());
+        Object value = extractValue(context, slots, compiled.getSourceSlot(), compiled.getSourcePath(), compiled.getReadType());
         
         // Try fallback paths if value is null
-        if (value == null && mapping.getFallbackPaths() != null && mapping.getFallbackPaths().isArray()) {
-            for (JsonNode fallbackPath : mapping.getFallbackPaths()) {
-                value = extractValue(context, fallbackPath.asText(), mapping.getDataType());
+        if (value == null) {
+            int[] fallbackSlots = compiled.getFallbackSlots();
+            List<CompiledPath> fallbackPaths = compiled.getFallbackPaths();
+            for (int i = 0; i < fallbackSlots.length; i++) {
+                value = extractValue(context, slots, fallbackSlots[i], fallbackPaths.get(i), compiled.getReadType());
                 if (value != null) {
                     break;
                 }
@@ -253,171 +521,98 @@ public class FieldMappingEngine {
         
         // Apply transformation
         // Some transforms (like build_account_id) extract from context directly and should run even if value is null
-        if (mapping.getTransform() != null) {
-            value = transformEngine.applyTransform(
-                mapping.getTransform(),
-                value,
-                mapping.getTransformArgs(),
-                context
-            );
-        }
-        
-        return value;
+        return compiled.applyTransform(value, context);
     }
     
     /**
      * Extract and transform field for array element
-     * Handles [*] notation in source paths
+     * Source paths with [*] notation are resolved relative to the element
      */
     private Object extractAndTransformFieldForArrayElement(
-            FieldMapping mapping, JsonNode elementContext, JsonNode element, int index) {
-        
-        String sourcePath = mapping.getSourcePath();
-        
-        // If source path contains [*], replace with actual index or extract directly from element
-        if (sourcePath.contains("[*]")) {
-            // Extract the field name after [*]
-            String[] parts = sourcePath.split("\\[\\*\\]\\.");
-            if (parts.length > 1) {
-                String fieldName = parts[1];
-                // Extract directly from element
-                Object value = extractValueFromNode(element, fieldName, mapping.getDataType());
-                
-                // Apply transformation
-                if (value != null && mapping.getTransform() != null) {
-                    value = transformEngine.applyTransform(
-                        mapping.getTransform(),
-                        value,
-                        mapping.getTransformArgs(),
-                        elementContext
-                    );
-                }
-                
-                return value;
-            }
+            CompiledFieldMapping compiled, MappingContext elementContext, JsonNode element, PathSlots slots) {
+        
+        // [*] paths were compiled to an element-relative path when the plan was built
+        if (compiled.getElementPath() != null) {
+            Object value = extractValue(element, compiled.getElementPath(), compiled.getReadType());
+            
+            // Apply transformation
+            return value != null ? compiled.applyTransform(value, elementContext) : null;
         }
         
-        // Otherwise, extract normally from element context
-        return extractAndTransformField(mapping, elementContext);
+        // Otherwise, extract normally; record-level paths are served from the record's slots
+        return extractAndTransformField(compiled, elementContext, slots);
     }
     
     /**
-     * Extract value from JSON using JsonPath
+     * Extract value from the record's path slots when the path is served by the trie,
+     * otherwise evaluate the compiled path against the context
      */
-    private Object extractValue(JsonNode context, String path, DataType dataType) {
-        if (path == null || context == null) {
-            log.trace("extractValue: path or context is null - path={}, context={}", path, context != null);
-            return null;
+    private Object extractValue(MappingContext context, PathSlots slots, int slot, CompiledPath path, DataType dataType) {
+        if (slots == null || slot < 0) {
+            return extractValue(context, path, dataType);
         }
         
-        log.trace("extractValue: path={}, dataType={}", path, dataType);
+        JsonNode node = slots.get(slot);
+        if (node == null) {
+            return null;
+        }
         
         try {
-            // Convert JsonNode to string for JsonPath processing
-            String jsonString = objectMapper.writeValueAsString(context);
-            
-            // Ensure path starts with $
-            String jsonPath = path.startsWith("$") ? path : "$." + path;
-            
-            // Remove [*] for single value extraction
-            if (jsonPath.contains("[*]")) {
-                jsonPath = jsonPath.replace("[*]", "[0]");
-            }
-            
-            log.trace("extractValue: Using JsonPath: {}", jsonPath);
-            
-            Object rawValue = JsonPath.using(jsonPathConfig).parse(jsonString).read(jsonPath);
-            
-            log.trace("extractValue: Raw value extracted: {} (type: {})", 
-                rawValue, rawValue != null ? rawValue.getClass().getSimpleName() : "null");
-            
-            Object convertedValue = convertValue(rawValue, dataType);
-            
-            log.trace("extractValue: Converted value: {} (type: {})", 
-                convertedValue, convertedValue != null ? convertedValue.getClass().getSimpleName() : "null");
-            
-            return convertedValue;
-            
+            return convertJsonNodeToValue(node, dataType);
         } catch (Exception e) {
-            log.warn("Failed to extract value at path {}: {} - attempting fallback", path, e.getMessage());
-            
-            // Fallback: try direct JsonNode navigation
-            Object fallbackValue = extractValueDirectly(context, path, dataType);
-            if (fallbackValue != null) {
-                log.debug("extractValue: Fallback successful for path {}: {}", path, fallbackValue);
-                return fallbackValue;
-            }
-            
-            log.debug("extractValue: Both JsonPath and fallback failed for path {}", path);
+            log.debug("extractValue: Failed to convert value at path {}: {}", path, e.getMessage());
             return null;
         }
     }
     
     /**
-     * Fallback method to extract value directly from JsonNode without JsonPath
+     * Extract value by evaluating a compiled path against the record root, memoized per record
      */
-    private Object extractValueDirectly(JsonNode context, String path, DataType dataType) {
+    private Object extractValue(MappingContext context, CompiledPath path, DataType dataType) {
+        if (path == null) {
+            return null;
+        }
+        
         try {
-            // Remove $ prefix if present
-            String cleanPath = path.startsWith("$.") ? path.substring(2) : 
-                              (path.startsWith("$") ? path.substring(1) : path);
-            
-            // Navigate through the path
-            String[] parts = cleanPath.split("\\.");
-            JsonNode current = context;
-            
-            for (String part : parts) {
-                if (current == null || current.isNull()) {
-                    return null;
-                }
-                current = current.get(part);
-            }
-            
-            if (current == null || current.isNull()) {
-                return null;
-            }
-            
-            // Convert to target type
-            return convertJsonNodeToValue(current, dataType);
-            
+            return convertValue(context.read(path), dataType);
         } catch (Exception e) {
-            log.trace("Direct extraction failed for path {}: {}", path, e.getMessage());
+            log.debug("extractValue: Failed to extract value at path {}: {}", path, e.getMessage());
             return null;
         }
     }
     
     /**
-     * Extract value directly from a JsonNode
+     * Extract value by evaluating a compiled path directly against the JsonNode tree
      */
-    private Object extractValueFromNode(JsonNode node, String fieldName, DataType dataType) {
-        if (node == null || !node.has(fieldName)) {
+    private Object extractValue(JsonNode context, CompiledPath path, DataType dataType) {
+        if (path == null || context == null) {
+            log.trace("extractValue: path or context is null - path={}, context={}", path, context != null);
             return null;
         }
         
-        JsonNode fieldNode = node.get(fieldName);
-        if (fieldNode.isNull()) {
+        try {
+            Object rawValue = path.read(context);
+            
+            log.trace("extractValue: path={}, raw value: {} (type: {})", 
+                path, rawValue, rawValue != null ? rawValue.getClass().getSimpleName() : "null");
+            
+            return convertValue(rawValue, dataType);
+            
+        } catch (Exception e) {
+            log.debug("extractValue: Failed to extract value at path {}: {}", path, e.getMessage());
             return null;
         }
-        
-        return convertJsonNodeToValue(fieldNode, dataType);
     }
     
     /**
      * Extract array node from context
      */
-    private JsonNode extractArrayNode(JsonNode context, String arrayPath) {
+    private JsonNode extractArrayNode(MappingContext context, String arrayPath) {
         log.trace("extractArrayNode: Attempting to extract array at path: {}", arrayPath);
         
         try {
-            String jsonString = objectMapper.writeValueAsString(context);
-            String jsonPath = arrayPath.startsWith("$") ? arrayPath : "$." + arrayPath;
-            
-            log.trace("extractArrayNode: Using JsonPath: {}", jsonPath);
-            
-            Object result = JsonPath.using(jsonPathConfig).parse(jsonString).read(jsonPath);
-            
-            log.trace("extractArrayNode: Raw result type: {}", 
-                result != null ? result.getClass().getSimpleName() : "null");
+            CompiledPath path = arrayPaths.computeIfAbsent(arrayPath, CompiledPath::forNode);
+            Object result = context.read(path);
             
             JsonNode arrayNode = null;
             
@@ -432,76 +627,16 @@ public class FieldMappingEngine {
                 log.debug("extractArrayNode: Successfully extracted array at path {} with {} elements", 
                     arrayPath, arrayNode.size());
                 return arrayNode;
-            } else {
-                log.debug("extractArrayNode: Result at path {} is not an array or is null. Node type: {}", 
-                    arrayPath, arrayNode != null ? arrayNode.getNodeType() : "null");
             }
             
-        } catch (Exception e) {
-            log.warn("extractArrayNode: JsonPath failed for path {}: {} - attempting fallback", 
-                arrayPath, e.getMessage());
-        }
-        
-        // Fallback: try direct JsonNode navigation
-        JsonNode fallbackArray = extractArrayNodeDirectly(context, arrayPath);
-        if (fallbackArray != null && fallbackArray.isArray()) {
-            log.debug("extractArrayNode: Fallback successful for path {} with {} elements", 
-                arrayPath, fallbackArray.size());
-            return fallbackArray;
-        }
-        
-        log.debug("extractArrayNode: Both JsonPath and fallback failed for path {}", arrayPath);
-        return null;
-    }
-    
-    /**
-     * Fallback method to extract array directly from JsonNode without JsonPath
-     */
-    private JsonNode extractArrayNodeDirectly(JsonNode context, String arrayPath) {
-        try {
-            // Remove $ prefix if present
-            String cleanPath = arrayPath.startsWith("$.") ? arrayPath.substring(2) : 
-                              (arrayPath.startsWith("$") ? arrayPath.substring(1) : arrayPath);
-            
-            // Navigate through the path
-            String[] parts = cleanPath.split("\\.");
-            JsonNode current = context;
-            
-            for (String part : parts) {
-                if (current == null || current.isNull()) {
-                    return null;
-                }
-                current = current.get(part);
-            }
-            
-            if (current != null && current.isArray()) {
-                return current;
-            }
-            
-            return null;
+            log.debug("extractArrayNode: Result at path {} is not an array or is null. Node type: {}", 
+                arrayPath, arrayNode != null ? arrayNode.getNodeType() : "null");
             
         } catch (Exception e) {
-            log.trace("Direct array extraction failed for path {}: {}", arrayPath, e.getMessage());
-            return null;
+            log.warn("extractArrayNode: Failed to extract array at path {}: {}", arrayPath, e.getMessage());
         }
-    }
-    
-    /**
-     * Create element context by merging array element with parent context
-     */
-    private JsonNode createElementContext(JsonNode parentContext, JsonNode element, String arrayPath, int index) {
-        ObjectNode elementContext = objectMapper.createObjectNode();
-        
-        // Copy all fields from parent context
-        parentContext.fields().forEachRemaining(entry -> {
-            elementContext.set(entry.getKey(), entry.getValue());
-        });
-        
-        // Add element data
-        elementContext.set("_element", element);
-        elementContext.put("_index", index);
         
-        return elementContext;
+        return null;
     }
     
     /**
@@ -548,9 +683,9 @@ public class FieldMappingEngine {
             case LONG -> rawValue instanceof Number ? ((Number) rawValue).longValue() : Long.parseLong(rawValue.toString());
             case DOUBLE -> rawValue instanceof Number ? ((Number) rawValue).doubleValue() : Double.parseDouble(rawValue.toString());
             case BOOLEAN -> rawValue instanceof Boolean ? rawValue : Boolean.parseBoolean(rawValue.toString());
-            case UUID -> rawValue instanceof UUID ? rawValue : UUID.fromString(rawValue.toString());
+            case UUID -> rawValue instanceof UUID ? rawValue : BatchMemo.uuid(rawValue.toString());
             case ARRAY -> rawValue instanceof List ? rawValue : convertToList(rawValue);
-            case JSONB, OBJECT -> rawValue;
+            case JSON, JSONB, OBJECT -> rawValue;
             default -> rawValue;
         };
     }
@@ -569,11 +704,12 @@ public class FieldMappingEngine {
             case LONG -> node.asLong();
             case DOUBLE -> node.asDouble();
             case BOOLEAN -> node.asBoolean();
-            case UUID -> UUID.fromString(node.asText());
-            case TIMESTAMP -> Instant.parse(node.asText());
-            case DATE -> LocalDate.parse(node.asText());
+            // Ids and timestamps repeat across the records of a batch
+            case UUID -> BatchMemo.uuid(node.asText());
+            case TIMESTAMP -> BatchMemo.instant(node.asText());
+            case DATE -> BatchMemo.localDate(node.asText());
             case ARRAY -> convertJsonArrayToList(node);
-            case JSONB, OBJECT -> node;
+            case JSON, JSONB, OBJECT -> node;
             default -> node.asText();
         };
     }
@@ -625,34 +761,11 @@ public class FieldMappingEngine {
     }
     
     /**
-     * Build entity instance from field values using reflection
+     * Create an entity instance through its generated binder
      */
-    private <T> T buildEntityInstance(Class<T> targetClass, Map<String, Object> fieldValues) {
+    private <T> T newEntityInstance(EntityBinder<T> binder, Class<T> targetClass) {
         try {
-            T instance = targetClass.getDeclaredConstructor().newInstance();
-            
-            for (Map.Entry<String, Object> entry : fieldValues.entrySet()) {
-                String fieldName = entry.getKey();
-                Object value = entry.getValue();
-                
-                try {
-                    // Find setter method
-                    String setterName = "set" + capitalize(fieldName);
-                    Method setter = findSetter(targetClass, setterName, value);
-                    
-                    if (setter != null) {
-                        setter.invoke(instance, value);
-                    } else {
-                        log.debug("No setter found for field: {}", fieldName);
-                    }
-                    
-                } catch (Exception e) {
-                    log.warn("Failed to set field {}: {}", fieldName, e.getMessage());
-                }
-            }
-            
-            return instance;
-            
+            return binder.newInstance();
         } catch (Exception e) {
             log.error("Failed to build entity instance for {}: {}", targetClass.getSimpleName(), e.getMessage());
             return null;
@@ -660,48 +773,15 @@ public class FieldMappingEngine {
     }
     
     /**
-     * Find setter method for a field
-     */
-    private Method findSetter(Class<?> clazz, String setterName, Object value) {
-        for (Method method : clazz.getMethods()) {
-            if (method.getName().equals(setterName) && method.getParameterCount() == 1) {
-                Class<?> paramType = method.getParameterTypes()[0];
-                if (paramType.isAssignableFrom(value.getClass())) {
-                    return method;
-                }
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Extract tenant ID from context
-     */
-    private UUID extractTenantId(RawEntityMessage context) {
-        String tenantIdStr = context.getTenant();
-        if (tenantIdStr != null) {
-            try {
-                return UUID.fromString(tenantIdStr);
-            } catch (Exception e) {
-                log.warn("Failed to parse tenant ID: {}", tenantIdStr);
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Extract instance ID from context
+     * Set a mapped value on the entity through its generated setter
      */
-    private UUID extractInstanceId(RawEntityMessage context) {
-        String instanceIdStr = context.getInstanceId();
-        if (instanceIdStr != null) {
-            try {
-                return UUID.fromString(instanceIdStr);
-            } catch (Exception e) {
-                log.warn("Failed to parse instance ID: {}", instanceIdStr);
-            }
+    private <T> boolean setField(EntityBinder<T> binder, T entity, String fieldName, Object value) {
+        try {
+            return binder.set(entity, fieldName, value);
+        } catch (Exception e) {
+            log.warn("Failed to set field {}: {}", fieldName, e.getMessage());
+            return false;
         }
-        return null;
     }
     
     /**
@@ -718,14 +798,4 @@ public class FieldMappingEngine {
         // Convert camelCase to snake_case
         return className.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
     }
-    
-    /**
-     * Capitalize first letter
-     */
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
-    }
 }
@@ -0,0 +1,139 @@
+package com.quilr.mapping;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reloads the mapping snapshot when field_mappings or transform_functions change.
+ *
+ * A trigger on both tables (V7 migration) sends a NOTIFY on the configured channel. This
+ * listener holds a dedicated JDBC connection outside the Hikari pool, LISTENs on the channel
+ * and rebuilds the snapshot on a background thread. Notifications arriving within the debounce
+ * window are coalesced into one reload. After a lost connection the snapshot is reloaded once
+ * on reconnect, since notifications sent while disconnected are not delivered.
+ */
+@Component
+@Log4j2
+public class MappingChangeListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final MappingPlanRegistry mappingPlanRegistry;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private Thread listenerThread;
+
+    @Value("${quilr.mapping.listener.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quilr.mapping.listener.channel:field_mappings_changed}")
+    private String channel;
+
+    @Value("${quilr.mapping.listener.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    @Value("${quilr.mapping.listener.debounce-ms:500}")
+    private long debounceMs;
+
+    @Value("${quilr.mapping.listener.reconnect-backoff-ms:10000}")
+    private long reconnectBackoffMs;
+
+    @Value("${spring.datasource.url}")
+    private String jdbcUrl;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    public MappingChangeListener(MappingPlanRegistry mappingPlanRegistry) {
+        this.mappingPlanRegistry = mappingPlanRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            log.info("Mapping change listener disabled; field mapping edits require a restart");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        listenerThread = new Thread(this::listen, "mapping-change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running.get()) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for mapping changes on channel '{}'", channel);
+
+                if (reconnecting) {
+                    // Changes made while disconnected were not delivered
+                    reload("reconnect");
+                }
+
+                while (running.get()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null || notifications.length == 0) {
+                        continue;
+                    }
+
+                    // Coalesce bursts (e.g. a migration touching many rows) into one reload
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(debounceMs));
+                    PGNotification[] more = pgConnection.getNotifications(1);
+                    int count = notifications.length + (more != null ? more.length : 0);
+                    reload(count + " notification(s) from " + notifications[0].getParameter());
+                }
+            } catch (SQLException e) {
+                if (!running.get()) {
+                    break;
+                }
+                log.warn("Mapping change listener connection failed, retrying in {} ms: {}", reconnectBackoffMs, e.getMessage());
+                reconnecting = true;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(reconnectBackoffMs));
+            } catch (Exception e) {
+                log.error("Mapping change listener error", e);
+                reconnecting = true;
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(reconnectBackoffMs));
+            }
+        }
+        log.info("Mapping change listener stopped");
+    }
+
+    private void reload(String reason) {
+        try {
+            MappingSnapshot snapshot = mappingPlanRegistry.reload();
+            log.info("Reloaded mapping snapshot v{} ({}) after {}", snapshot.getVersion(), snapshot.getFingerprint(), reason);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; the next change notification retries
+            log.error("Failed to reload mapping snapshot after {}, keeping the current one: {}", reason, e.getMessage(), e);
+        }
+    }
+}
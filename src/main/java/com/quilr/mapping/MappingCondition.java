@@ -0,0 +1,38 @@
+package com.quilr.mapping;
+
+/**
+ * Predicate compiled from the condition column of a field mapping.
+ *
+ * Supported syntax:
+ * <pre>
+ *   data.userType == 'Guest'
+ *   data.accountEnabled != false
+ *   exists(data.onPremisesSyncEnabled)
+ *   !exists(data.mail) || data.mail == null
+ *   (data.userType == 'Member' && exists(data.department)) || data.companyName == 'Contoso'
+ * </pre>
+ * Paths use dot notation (an optional leading $. is ignored) and are resolved through the
+ * record's MappingContext, so they share its memo. Literals are single or double quoted
+ * strings, numbers, true, false and null.
+ *
+ * Conditions are parsed once when the mapping plan is built; an invalid condition fails the
+ * plan entry with an IllegalArgumentException.
+ */
+@FunctionalInterface
+public interface MappingCondition {
+
+    boolean test(MappingContext context);
+
+    /**
+     * Compile a condition expression
+     *
+     * @param expression Condition text, may be null or blank
+     * @return Compiled condition, or null when the mapping is unconditional
+     */
+    static MappingCondition compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        return new ConditionParser(expression).parse();
+    }
+}
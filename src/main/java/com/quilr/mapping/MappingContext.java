@@ -0,0 +1,227 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quilr.dto.RawEntityMessage;
+import com.quilr.mapping.transform.BatchMemo;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-record state shared by every mapping call for the same message.
+ *
+ * Holds the mapping snapshot pinned for the record, the wrapped payload ({tenant, subscriber,
+ * instance_id, domain, data}), the tenant, instance and subscriber ids parsed once, the
+ * PathTrie slots for the record and a memo of path lookups so that paths read by several
+ * fields or transforms (data.id, data.mail, ...) are only resolved once.
+ *
+ * Created by FieldMappingEngine.createContext and confined to the thread mapping the record,
+ * unless it is created for parallel mapping: its memos are then concurrent so target entities
+ * can be mapped from several threads. Array elements get a lightweight overlay (forElement)
+ * that adds _element and _index on top of the record context without copying it; an overlay
+ * is only used by the thread mapping its element.
+ */
+@Getter
+@Log4j2
+public final class MappingContext {
+
+    private static final Object ABSENT = new Object();
+
+    private final RawEntityMessage message;
+
+    /**
+     * Mapping snapshot used for every mapping call of this record, even if a newer one is
+     * published while the record is being mapped
+     */
+    private final MappingSnapshot snapshot;
+
+    private final String vendor;
+    private final String entityType;
+
+    /**
+     * Wrapped payload that source paths are evaluated against
+     */
+    private final JsonNode root;
+
+    private final UUID tenantId;
+    private final UUID instanceId;
+    private final UUID subscriberId;
+
+    /**
+     * Slots filled by the (vendor, entityType) path trie, or null if none is configured
+     */
+    private final PathSlots pathSlots;
+
+    /**
+     * Current array element and its index for element overlays; null/-1 for the record context
+     */
+    private final JsonNode element;
+    private final int elementIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final MappingContext parent;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, JsonNode> lookups;
+    @Getter(AccessLevel.NONE)
+    private final Map<CompiledPath, Object> reads;
+    @Getter(AccessLevel.NONE)
+    private ObjectNode materialized;
+
+    MappingContext(RawEntityMessage message, MappingSnapshot snapshot, JsonNode root, PathSlots pathSlots,
+                   boolean concurrent) {
+        this.message = message;
+        this.snapshot = snapshot;
+        this.vendor = message.getVendor();
+        this.entityType = message.getEntityType().name().toLowerCase();
+        this.root = root;
+        this.pathSlots = pathSlots;
+        this.tenantId = parseUuid(message.getTenant(), "tenant ID");
+        this.instanceId = parseUuid(message.getInstanceId(), "instance ID");
+        // Subscriber is not required to be a UUID for every vendor
+        this.subscriberId = message.getSubscriber() != null && message.getSubscriber().length() == 36
+            ? parseUuid(message.getSubscriber(), "subscriber ID") : null;
+        this.element = null;
+        this.elementIndex = -1;
+        this.parent = null;
+        this.lookups = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.reads = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    private MappingContext(MappingContext parent, JsonNode element, int elementIndex) {
+        this.message = parent.message;
+        this.snapshot = parent.snapshot;
+        this.vendor = parent.vendor;
+        this.entityType = parent.entityType;
+        this.root = parent.root;
+        this.pathSlots = parent.pathSlots;
+        this.tenantId = parent.tenantId;
+        this.instanceId = parent.instanceId;
+        this.subscriberId = parent.subscriberId;
+        this.element = element;
+        this.elementIndex = elementIndex;
+        this.parent = parent;
+        this.lookups = null;
+        this.reads = null;
+    }
+
+    /**
+     * Overlay context for one array element. Paths under _element and _index resolve against
+     * the element; every other path is delegated to the record context and shares its memo.
+     */
+    MappingContext forElement(JsonNode element, int index) {
+        return new MappingContext(this, element, index);
+    }
+
+    /**
+     * Slots usable with a plan's trie, or null if they were produced by a different trie
+     * (e.g. the registry was reloaded after this context was created)
+     */
+    PathSlots slotsFor(PathTrie pathTrie) {
+        return pathSlots != null && pathSlots.isFrom(pathTrie) ? pathSlots : null;
+    }
+
+    /**
+     * Look up a dot-notation path (e.g., "data.mail", "$.data.id", "tenant") against the root.
+     *
+     * @return Node at the path (may be a NullNode), or null if the path does not exist
+     */
+    public JsonNode lookup(String path) {
+        if (path == null || root == null) {
+            return null;
+        }
+
+        if (parent != null) {
+            String cleanPath = path.startsWith("$.") ? path.substring(2) : path;
+            if (cleanPath.equals("_index")) {
+                return IntNode.valueOf(elementIndex);
+            }
+            if (cleanPath.equals("_element")) {
+                return element;
+            }
+            if (cleanPath.startsWith("_element.")) {
+                return navigate(element, cleanPath.substring("_element.".length()));
+            }
+            return parent.lookup(path);
+        }
+
+        JsonNode node = lookups.get(path);
+        if (node == null) {
+            node = navigate(root, path.startsWith("$.") ? path.substring(2) : path);
+            lookups.put(path, node != null ? node : MissingNode.getInstance());
+            return node;
+        }
+        return node.isMissingNode() ? null : node;
+    }
+
+    /**
+     * Evaluate a compiled path against the root, memoized for the lifetime of the record
+     */
+    Object read(CompiledPath path) {
+        if (parent != null) {
+            if (!path.referencesElement()) {
+                return parent.read(path);
+            }
+            if (path.isSimple() && path.segmentCount() > 0 && "_element".equals(path.fieldName(0))) {
+                return path.walkFrom(element, 1);
+            }
+            // Anything else needs a real element context; built at most once per element
+            return path.read(materialize());
+        }
+
+        Object value = reads.get(path);
+        if (value == null) {
+            value = path.read(root);
+            reads.put(path, value != null ? value : ABSENT);
+            return value;
+        }
+        return value == ABSENT ? null : value;
+    }
+
+    private ObjectNode materialize() {
+        if (materialized == null) {
+            materialized = JsonNodeFactory.instance.objectNode();
+            root.fields().forEachRemaining(entry -> materialized.set(entry.getKey(), entry.getValue()));
+            materialized.set("_element", element);
+            materialized.put("_index", elementIndex);
+        }
+        return materialized;
+    }
+
+    private static JsonNode navigate(JsonNode from, String cleanPath) {
+        JsonNode current = from;
+        int start = 0;
+        while (start <= cleanPath.length()) {
+            if (current == null || current.isNull()) {
+                return null;
+            }
+            int end = cleanPath.indexOf('.', start);
+            if (end < 0) {
+                end = cleanPath.length();
+            }
+            current = current.get(cleanPath.substring(start, end));
+            start = end + 1;
+        }
+        return current;
+    }
+
+    private static UUID parseUuid(String value, String description) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return BatchMemo.uuid(value);
+        } catch (Exception e) {
+            log.warn("Failed to parse {}: {}", description, value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.quilr.mapping;
+
+import com.quilr.model.mapping.FieldMapping;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable mapping plan for a single (vendor, entityType, targetEntity) combination.
+ * Built once from the field_mappings table by MappingPlanRegistry and shared by all
+ * mapping calls until the registry is reloaded. Transforms are bound to their arguments
+ * when the plan is built.
+ *
+ * Mappings are ordered by priority (ascending). Several rows may target the same field with
+ * different conditions; they are evaluated in that order and the first match wins.
+ */
+@Getter
+@Log4j2
+public final class MappingPlan {
+
+    private final String vendor;
+    private final String entityType;
+    private final String targetEntity;
+    private final List<CompiledFieldMapping> mappings;
+
+    /**
+     * Number of distinct target fields (mappings carry an index into this range)
+     */
+    private final int fieldCount;
+
+    /**
+     * Trie shared by all plans of the same (vendor, entityType); null for empty plans
+     */
+    private final PathTrie pathTrie;
+
+    /**
+     * Field mappings that could not be compiled and were left out of the plan
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final List<String> invalidMappings;
+
+    /**
+     * Compiled mappers built from this plan, per target entity class
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, CompiledEntityMapper<?>> compiledMappers = new ConcurrentHashMap<>();
+
+    public MappingPlan(String vendor, String entityType, String targetEntity,
+                       List<FieldMapping> mappings, PathTrie pathTrie, TransformCatalog transforms) {
+        this.vendor = vendor;
+        this.entityType = entityType;
+        this.targetEntity = targetEntity;
+        this.pathTrie = pathTrie;
+
+        List<FieldMapping> ordered = new ArrayList<>(mappings);
+        ordered.sort(Comparator.comparingInt(m -> m.getPriority() != null ? m.getPriority() : 0));
+
+        Map<String, Integer> fieldIndexes = new HashMap<>();
+        List<String> invalid = new ArrayList<>();
+        List<CompiledFieldMapping> compiled = new ArrayList<>(ordered.size());
+        for (FieldMapping mapping : ordered) {
+            try {
+                Integer existing = fieldIndexes.get(mapping.getTargetField());
+                int fieldIndex = existing != null ? existing : fieldIndexes.size();
+                compiled.add(new CompiledFieldMapping(mapping, pathTrie, transforms, fieldIndex, existing == null));
+                fieldIndexes.putIfAbsent(mapping.getTargetField(), fieldIndex);
+            } catch (Exception e) {
+                log.error("Skipping field mapping {}.{} with invalid source path, condition or transform ({}, {}, {}): {}",
+                    targetEntity, mapping.getTargetField(), mapping.getSourcePath(), mapping.getCondition(),
+                    mapping.getTransform(), e.getMessage());
+                invalid.add(vendor + "/" + entityType + " " + targetEntity + "." + mapping.getTargetField()
+                    + " (priority " + mapping.getPriority() + "): " + e.getMessage());
+            }
+        }
+        this.mappings = List.copyOf(compiled);
+        this.invalidMappings = List.copyOf(invalid);
+        this.fieldCount = fieldIndexes.size();
+    }
+
+    /**
+     * Empty plan returned for keys that have no field mappings configured
+     */
+    static MappingPlan empty(String vendor, String entityType, String targetEntity) {
+        return new MappingPlan(vendor, entityType, targetEntity, List.of(), null, null);
+    }
+
+    /**
+     * Get the compiled mapper for a target class, compiling it on first use
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompiledEntityMapper<T> compiledMapper(Class<T> targetClass,
+                                              Function<MappingPlan, CompiledEntityMapper<T>> compiler) {
+        return (CompiledEntityMapper<T>) compiledMappers.computeIfAbsent(targetClass, k -> compiler.apply(this));
+    }
+
+    public boolean isEmpty() {
+        return mappings.isEmpty();
+    }
+}
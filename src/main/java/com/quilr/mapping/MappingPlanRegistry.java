@@ -0,0 +1,226 @@
+package com.quilr.mapping;
+
+import com.quilr.model.mapping.FieldMapping;
+import com.quilr.model.mapping.TransformFunction;
+import com.quilr.repository.FieldMappingRepository;
+import com.quilr.repository.TransformFunctionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+
+/**
+ * In-memory registry of mapping plans keyed by (vendor, entityType, targetEntity).
+ *
+ * The field_mappings and transform_functions tables are loaded into an immutable, versioned
+ * MappingSnapshot: plans grouped per target entity, one PathTrie per (vendor, entityType)
+ * covering the source paths of all its plans, and the registered transform functions.
+ * Lookups never touch the database; reload() rebuilds everything off to the side and swaps
+ * it in atomically so concurrent mapping calls always see a complete set.
+ *
+ * The first snapshot is loaded when the application is ready, ahead of the Kafka consumers.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Log4j2
+public class MappingPlanRegistry implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final FieldMappingRepository fieldMappingRepository;
+    private final TransformFunctionRepository transformFunctionRepository;
+    private final TransformEngine transformEngine;
+    private final AtomicReference<MappingSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer buildTimer;
+
+    /**
+     * Reject snapshots with field mappings that cannot be compiled (unknown transforms, invalid
+     * paths, conditions or transform args). At startup this fails the application; on reload
+     * the previous snapshot stays in use.
+     */
+    @Value("${quilr.mapping.fail-on-invalid:true}")
+    private boolean failOnInvalid;
+
+    public MappingPlanRegistry(FieldMappingRepository fieldMappingRepository,
+                               TransformFunctionRepository transformFunctionRepository,
+                               TransformEngine transformEngine,
+                               MeterRegistry meterRegistry) {
+        this.fieldMappingRepository = fieldMappingRepository;
+        this.transformFunctionRepository = transformFunctionRepository;
+        this.transformEngine = transformEngine;
+        this.hitCounter = Counter.builder("quilr.mapping.plan.lookups")
+            .tag("result", "hit")
+            .description("Mapping plan lookups served from the registry")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("quilr.mapping.plan.lookups")
+            .tag("result", "miss")
+            .description("Mapping plan lookups with no configured field mappings")
+            .register(meterRegistry);
+        this.buildTimer = Timer.builder("quilr.mapping.plan.build")
+            .description("Time taken to build the mapping plans from field_mappings")
+            .register(meterRegistry);
+        meterRegistry.gauge("quilr.mapping.plan.count", snapshot, ref -> ref.get() != null ? ref.get().getPlans().size() : 0);
+        meterRegistry.gauge("quilr.mapping.snapshot.version", snapshot, ref -> ref.get() != null ? ref.get().getVersion() : 0);
+    }
+
+    /**
+     * Load the first snapshot before consumers start, so an invalid configuration fails startup
+     * instead of being reported per record
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        MappingSnapshot loaded = getSnapshot();
+        log.info("Mapping snapshot v{} ({}) loaded at startup", loaded.getVersion(), loaded.getFingerprint());
+    }
+
+    /**
+     * Get the current snapshot, loading it on first use
+     */
+    public MappingSnapshot getSnapshot() {
+        MappingSnapshot current = snapshot.get();
+        return current != null ? current : loadIfAbsent();
+    }
+
+    /**
+     * Get the mapping plan for a target entity from the current snapshot.
+     *
+     * @param vendor Vendor name as stored in field_mappings (e.g., "Microsoft")
+     * @param entityType Entity type (e.g., "users")
+     * @param targetEntity Target entity name (e.g., "user", "office_location")
+     * @return Mapping plan, never null
+     */
+    public MappingPlan getPlan(String vendor, String entityType, String targetEntity) {
+        return getPlan(getSnapshot(), vendor, entityType, targetEntity);
+    }
+
+    /**
+     * Get the mapping plan for a target entity from a pinned snapshot.
+     * A missing key yields an empty plan.
+     */
+    public MappingPlan getPlan(MappingSnapshot pinned, String vendor, String entityType, String targetEntity) {
+        MappingPlan plan = pinned.getPlan(vendor, entityType, targetEntity);
+        if (plan == null) {
+            missCounter.increment();
+            return MappingPlan.empty(vendor, entityType, targetEntity);
+        }
+
+        hitCounter.increment();
+        return plan;
+    }
+
+    /**
+     * Get the path trie shared by all plans of a (vendor, entityType) from the current snapshot.
+     *
+     * @return Path trie, or null if no field mappings exist for the combination
+     */
+    public PathTrie getPathTrie(String vendor, String entityType) {
+        return getSnapshot().getPathTrie(vendor, entityType);
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in atomically.
+     * Records that already pinned the previous snapshot finish on it.
+     *
+     * @return The new snapshot
+     */
+    public synchronized MappingSnapshot reload() {
+        MappingSnapshot previous = snapshot.get();
+        MappingSnapshot next = buildTimer.record(this::buildSnapshot);
+        snapshot.set(next);
+        log.info("Mapping snapshot v{} ({}) replaced v{} ({})", next.getVersion(), next.getFingerprint(),
+            previous != null ? previous.getVersion() : 0, previous != null ? previous.getFingerprint() : "-");
+        return next;
+    }
+
+    private synchronized MappingSnapshot loadIfAbsent() {
+        MappingSnapshot current = snapshot.get();
+        if (current == null) {
+            current = buildTimer.record(this::buildSnapshot);
+            snapshot.set(current);
+        }
+        return current;
+    }
+
+    private MappingSnapshot buildSnapshot() {
+        List<FieldMapping> allMappings = fieldMappingRepository.findAll();
+        List<TransformFunction> allFunctions = transformFunctionRepository.findAll();
+
+        List<String> problems = new ArrayList<>();
+        TransformCatalog transforms = transformEngine.catalog(allFunctions, problems);
+
+        // vendor/entityType -> targetEntity -> rows
+        Map<MappingSnapshot.TrieKey, Map<String, List<FieldMapping>>> grouped = new HashMap<>();
+        for (FieldMapping mapping : allMappings) {
+            grouped.computeIfAbsent(new MappingSnapshot.TrieKey(mapping.getVendor(), mapping.getEntityType()), k -> new HashMap<>())
+                .computeIfAbsent(mapping.getTargetEntity(), k -> new ArrayList<>())
+                .add(mapping);
+        }
+
+        Map<MappingSnapshot.PlanKey, MappingPlan> plans = new HashMap<>();
+        Map<MappingSnapshot.TrieKey, PathTrie> tries = new HashMap<>();
+        grouped.forEach((trieKey, byTarget) -> {
+            PathTrie trie = new PathTrie();
+            byTarget.forEach((targetEntity, mappings) -> plans.put(
+                new MappingSnapshot.PlanKey(trieKey.vendor(), trieKey.entityType(), targetEntity),
+                new MappingPlan(trieKey.vendor(), trieKey.entityType(), targetEntity, mappings, trie, transforms)));
+            tries.put(trieKey, trie.freeze());
+        });
+
+        plans.values().forEach(plan -> problems.addAll(plan.getInvalidMappings()));
+        if (!problems.isEmpty()) {
+            if (failOnInvalid) {
+                throw new IllegalStateException("Invalid mapping configuration (" + problems.size() + " problems):\n  "
+                    + String.join("\n  ", problems));
+            }
+            log.error("Mapping configuration has {} problems; affected field mappings are skipped:\n  {}",
+                problems.size(), String.join("\n  ", problems));
+        }
+
+        Map<String, TransformFunction> functions = new HashMap<>();
+        for (TransformFunction function : allFunctions) {
+            functions.put(function.getName(), function);
+        }
+
+        MappingSnapshot built = new MappingSnapshot(versions.incrementAndGet(),
+            fingerprint(allMappings, allFunctions), plans, tries, functions, transforms);
+        log.info("Built mapping snapshot v{} ({}): {} plans, {} path tries, {} field mappings, {} transform functions",
+            built.getVersion(), built.getFingerprint(), plans.size(), tries.size(), allMappings.size(), functions.size());
+        return built;
+    }
+
+    /**
+     * Order-independent checksum of the loaded rows, so instances can compare configurations.
+     * Field mapping rows count by id and updated_at, which a trigger keeps current for any
+     * UPDATE (V12); transform_functions has no updated_at, so its rows count by content.
+     */
+    private static String fingerprint(List<FieldMapping> mappings, List<TransformFunction> functions) {
+        List<String> rows = new ArrayList<>(mappings.size() + functions.size());
+        for (FieldMapping mapping : mappings) {
+            rows.add("m|" + mapping.getId() + "|" + mapping.getUpdatedAt());
+        }
+        for (TransformFunction function : functions) {
+            rows.add("f|" + function.getName() + "|" + function.getFunctionType() + "|" + function.getImplementationClass());
+        }
+        Collections.sort(rows);
+
+        CRC32C crc = new CRC32C();
+        for (String row : rows) {
+            crc.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return String.format("%08x", crc.getValue());
+    }
+}
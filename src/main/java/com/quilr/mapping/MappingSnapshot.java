@@ -0,0 +1,81 @@
+package com.quilr.mapping;
+
+import com.quilr.model.mapping.TransformFunction;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the field_mappings and transform_functions tables.
+ *
+ * MappingPlanRegistry builds a new snapshot off to the side whenever the tables change and
+ * swaps it in atomically. A record pins the snapshot that was current when its MappingContext
+ * was created, so a reload never changes mappings halfway through a record.
+ */
+@Getter
+public final class MappingSnapshot {
+
+    /**
+     * Sequence number of the snapshot within this process (1 for the first load)
+     */
+    private final long version;
+
+    /**
+     * Hash of the loaded rows; equal across instances that loaded the same configuration
+     */
+    private final String fingerprint;
+
+    private final Instant loadedAt;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<PlanKey, MappingPlan> plans;
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<TrieKey, PathTrie> pathTries;
+    private final Map<String, TransformFunction> transformFunctions;
+
+    /**
+     * Transform implementations matched to the transform_functions rows
+     */
+    private final TransformCatalog transforms;
+
+    MappingSnapshot(long version, String fingerprint, Map<PlanKey, MappingPlan> plans,
+                    Map<TrieKey, PathTrie> pathTries, Map<String, TransformFunction> transformFunctions,
+                    TransformCatalog transforms) {
+        this.version = version;
+        this.fingerprint = fingerprint;
+        this.loadedAt = Instant.now();
+        this.plans = Map.copyOf(plans);
+        this.pathTries = Map.copyOf(pathTries);
+        this.transformFunctions = Map.copyOf(transformFunctions);
+        this.transforms = transforms;
+    }
+
+    /**
+     * Plan for a target entity, or null if no field mappings are configured for it
+     */
+    public MappingPlan getPlan(String vendor, String entityType, String targetEntity) {
+        return plans.get(new PlanKey(vendor, entityType, targetEntity));
+    }
+
+    /**
+     * Path trie shared by all plans of a (vendor, entityType), or null if none are configured
+     */
+    public PathTrie getPathTrie(String vendor, String entityType) {
+        return pathTries.get(new TrieKey(vendor, entityType));
+    }
+
+    /**
+     * Registered transform function by name, or null if it is not in transform_functions
+     */
+    public TransformFunction getTransformFunction(String name) {
+        return transformFunctions.get(name);
+    }
+
+    record PlanKey(String vendor, String entityType, String targetEntity) {
+    }
+
+    record TrieKey(String vendor, String entityType) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quilr.mapping.transform.BatchMemo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executor for mapping the independent target entities of a large message concurrently.
+ *
+ * Opt-in: a message is only mapped in parallel when quilr.mapping.parallel.enabled is set and
+ * the arrays of its payload (groups, roles, ...) hold at least array-threshold elements in
+ * total; smaller messages stay on the cheap sequential path. Tasks run on a ForkJoinPool of
+ * the configured parallelism, or on virtual threads when executor is "virtual" and the
+ * runtime supports them.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>quilr.mapping.parallel.messages{path}: messages mapped on the parallel and sequential path</li>
+ * </ul>
+ */
+@Component
+@Log4j2
+public class ParallelMappingExecutor {
+
+    @Value("${quilr.mapping.parallel.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Minimum total number of array elements in a payload for parallel mapping
+     */
+    @Value("${quilr.mapping.parallel.array-threshold:200}")
+    private int arrayThreshold;
+
+    /**
+     * "fork-join" or "virtual"
+     */
+    @Value("${quilr.mapping.parallel.executor:fork-join}")
+    private String executorType;
+
+    /**
+     * Worker threads of the fork-join executor; 0 uses the number of available processors
+     */
+    @Value("${quilr.mapping.parallel.parallelism:0}")
+    private int parallelism;
+
+    private final Counter parallelCounter;
+    private final Counter sequentialCounter;
+    private volatile ExecutorService executor;
+
+    public ParallelMappingExecutor(MeterRegistry meterRegistry) {
+        this.parallelCounter = Counter.builder("quilr.mapping.parallel.messages")
+            .tag("path", "parallel")
+            .description("Messages whose target entities were mapped concurrently")
+            .register(meterRegistry);
+        this.sequentialCounter = Counter.builder("quilr.mapping.parallel.messages")
+            .tag("path", "sequential")
+            .description("Messages mapped on the consumer thread")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decide whether a message is mapped in parallel and count the decision
+     *
+     * @param payload Data node of the message
+     */
+    public boolean shouldParallelize(JsonNode payload) {
+        if (!enabled) {
+            return false;
+        }
+        boolean parallel = payload != null && arrayElements(payload) >= arrayThreshold;
+        (parallel ? parallelCounter : sequentialCounter).increment();
+        return parallel;
+    }
+
+    /**
+     * Run a mapping task on the executor, within the batch memo of the calling thread (if any)
+     */
+    public <T> CompletableFuture<T> fork(Supplier<T> task) {
+        BatchMemo memo = BatchMemo.current();
+        return CompletableFuture.supplyAsync(memo != null ? () -> memo.within(task) : task, executor());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+            try {
+                if (!current.awaitTermination(5, TimeUnit.SECONDS)) {
+                    current.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                current.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    current = createExecutor();
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private ExecutorService createExecutor() {
+        if ("virtual".equalsIgnoreCase(executorType)) {
+            try {
+                ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("Parallel mapping uses virtual threads");
+                return virtual;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available on this runtime; parallel mapping uses a fork-join pool");
+            }
+        }
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Parallel mapping uses a fork-join pool of {} threads", threads);
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("mapping-parallel-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+    }
+
+    private static int arrayElements(JsonNode payload) {
+        int total = 0;
+        Iterator<Map.Entry<String, JsonNode>> fields = payload.fields();
+        while (fields.hasNext()) {
+            JsonNode value = fields.next().getValue();
+            if (value.isArray()) {
+                total += value.size();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Per-record result of a PathTrie traversal: one JsonNode per registered source path.
+ * Slot indexes are only meaningful for the trie that produced them.
+ */
+public final class PathSlots {
+
+    private final PathTrie trie;
+    private final JsonNode[] slots;
+
+    PathSlots(PathTrie trie, JsonNode[] slots) {
+        this.trie = trie;
+        this.slots = slots;
+    }
+
+    /**
+     * Whether these slots were filled by the given trie
+     */
+    public boolean isFrom(PathTrie other) {
+        return trie == other;
+    }
+
+    /**
+     * Node found at the slot's path, or null if the payload does not contain it
+     */
+    public JsonNode get(int slot) {
+        return slots[slot];
+    }
+}
@@ -0,0 +1,132 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of all simple source paths configured for one (vendor, entityType).
+ *
+ * Every registered path is assigned a slot. extract() walks the payload once, following
+ * only the branches present in the trie, and fills a slot array that every target entity
+ * (tenant, instance, user, account, department, ...) reads from. Shared prefixes such as
+ * $.data are resolved a single time per record instead of once per field.
+ *
+ * Paths are registered while the mapping plans are built; the trie is frozen before it is
+ * published and is read-only afterwards.
+ */
+public final class PathTrie {
+
+    private final Node root = new Node(null, -1);
+    private final Map<String, Integer> slotsByExpression = new HashMap<>();
+    private boolean frozen;
+
+    /**
+     * Register a compiled path and return its slot.
+     * Paths that are not simple (JsonPath filters, functions, ...) or that read array element
+     * fields (_element, _index) cannot be served from the trie and return -1.
+     *
+     * @param path Compiled path
+     * @return Slot index, or -1 if the path is evaluated on its own
+     */
+    int register(CompiledPath path) {
+        if (frozen) {
+            throw new IllegalStateException("PathTrie is frozen");
+        }
+        if (path == null || !path.isSimple() || path.referencesElement()) {
+            return -1;
+        }
+
+        Integer existing = slotsByExpression.get(path.getExpression());
+        if (existing != null) {
+            return existing;
+        }
+
+        Node node = root;
+        for (int i = 0; i < path.segmentCount(); i++) {
+            node = node.child(path.fieldName(i), path.index(i));
+        }
+        if (node.slot < 0) {
+            node.slot = slotsByExpression.size();
+        }
+        slotsByExpression.put(path.getExpression(), node.slot);
+        return node.slot;
+    }
+
+    /**
+     * Freeze the trie once all plans for the (vendor, entityType) have registered their paths
+     */
+    PathTrie freeze() {
+        frozen = true;
+        root.freeze();
+        return this;
+    }
+
+    public int slotCount() {
+        return slotsByExpression.size();
+    }
+
+    /**
+     * Resolve every registered path against the payload in a single traversal.
+     *
+     * @param context Full message context ({tenant, subscriber, instance_id, domain, data})
+     * @return Slots filled with the node found at each path (null when absent)
+     */
+    public PathSlots extract(JsonNode context) {
+        JsonNode[] slots = new JsonNode[slotCount()];
+        if (context != null) {
+            fill(root, context, slots);
+        }
+        return new PathSlots(this, slots);
+    }
+
+    private static void fill(Node node, JsonNode json, JsonNode[] slots) {
+        if (node.slot >= 0) {
+            slots[node.slot] = json;
+        }
+        if (json.isNull()) {
+            return;
+        }
+        for (Node child : node.children) {
+            JsonNode childJson = child.index < 0 ? json.get(child.name) : json.get(child.index);
+            if (childJson != null) {
+                fill(child, childJson, slots);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final int index;
+        private int slot = -1;
+        private List<Node> childList = new ArrayList<>();
+        private Node[] children = new Node[0];
+
+        private Node(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        private Node child(String childName, int childIndex) {
+            for (Node child : childList) {
+                if (child.index == childIndex && (childIndex >= 0 || child.name.equals(childName))) {
+                    return child;
+                }
+            }
+            Node child = new Node(childName, childIndex);
+            childList.add(child);
+            return child;
+        }
+
+        private void freeze() {
+            children = childList.toArray(new Node[0]);
+            childList = null;
+            for (Node child : children) {
+                child.freeze();
+            }
+        }
+    }
+}
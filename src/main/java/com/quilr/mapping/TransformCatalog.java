@@ -0,0 +1,115 @@
+package com.quilr.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quilr.mapping.transform.BatchMemo;
+import com.quilr.mapping.transform.CompiledTransform;
+import com.quilr.mapping.transform.CompositeTransform;
+import com.quilr.mapping.transform.Transform;
+import com.quilr.mapping.transform.TransformPipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transforms usable by the field mappings of one MappingSnapshot: the transform_functions rows
+ * matched to their implementations by TransformEngine.
+ *
+ * The transform column of a field mapping is either a single name or a pipeline of names
+ * separated by '|' (e.g. "trim|lowercase|extract_domain") with transform_args as an array of
+ * per-step arguments, see TransformPipeline. Pure transforms and pipelines made only of pure
+ * steps are memoized per batch. Transforms referenced from the arguments of a CompositeTransform
+ * are compiled through the same catalog.
+ */
+public final class TransformCatalog {
+
+    private final Map<String, Transform> transforms;
+
+    TransformCatalog(Map<String, Transform> transforms) {
+        this.transforms = Map.copyOf(transforms);
+    }
+
+    /**
+     * Get a transform by name (case-insensitive)
+     *
+     * @return Transform, or null if it is not registered
+     */
+    public Transform get(String transformName) {
+        return transformName != null ? transforms.get(transformName.trim().toLowerCase()) : null;
+    }
+
+    public Set<String> names() {
+        return transforms.keySet();
+    }
+
+    /**
+     * Bind a transform or pipeline to the arguments of a field mapping
+     *
+     * @param transformName Name of the transform function, or step names separated by '|'
+     * @param args Transform arguments (can be null)
+     * @return Compiled transform, or null if the name is blank
+     * @throws IllegalArgumentException if a transform is not registered or its arguments are invalid
+     */
+    public CompiledTransform compile(String transformName, JsonNode args) {
+        if (transformName == null || transformName.isBlank()) {
+            return null;
+        }
+
+        if (!TransformPipeline.isPipeline(transformName)) {
+            Transform transform = require(transformName);
+            CompiledTransform compiled = transform instanceof CompositeTransform composite
+                ? composite.compile(args, this::compile)
+                : transform.compile(args);
+            return transform.isPure() ? BatchMemo.memoize(compiled) : compiled;
+        }
+
+        String[] names = transformName.split("\\" + TransformPipeline.SEPARATOR);
+        List<JsonNode> stepArgs = TransformPipeline.stepArgs(args, names.length);
+        List<Transform> steps = new ArrayList<>(names.length);
+        List<JsonNode> boundArgs = new ArrayList<>(names.length);
+        boolean pure = true;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].isBlank()) {
+                continue;
+            }
+            Transform step = require(names[i]);
+            steps.add(step);
+            boundArgs.add(stepArgs.get(i));
+            pure &= step.isPure();
+        }
+        if (steps.isEmpty()) {
+            return null;
+        }
+
+        CompiledTransform compiled = TransformPipeline.compile(steps, boundArgs, this::compile);
+        return pure ? BatchMemo.memoize(compiled) : compiled;
+    }
+
+    /**
+     * Whether a transform, or every step of a pipeline, is pure (see Transform.isPure)
+     */
+    public boolean isPure(String transformName) {
+        if (transformName == null || transformName.isBlank()) {
+            return true;
+        }
+        for (String name : transformName.split("\\" + TransformPipeline.SEPARATOR)) {
+            if (!name.isBlank()) {
+                Transform transform = get(name);
+                if (transform == null || !transform.isPure()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Transform require(String name) {
+        Transform transform = get(name);
+        if (transform == null) {
+            throw new IllegalArgumentException("Unknown transform function '" + name.trim()
+                + "' (not registered in transform_functions)");
+        }
+        return transform;
+    }
+}
@@ -0,0 +1,25 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Add a fixed prefix and/or suffix to a string.
+ *
+ * Args: {"prefix": "...", "suffix": "..."}
+ */
+public final class AffixTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "affix";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        String prefix = TransformArgs.text(args, "prefix", "");
+        String suffix = TransformArgs.text(args, "suffix", "");
+        return value -> prefix + value + suffix;
+    }
+}
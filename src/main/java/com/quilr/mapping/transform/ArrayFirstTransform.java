@@ -0,0 +1,34 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Get first element from array; non-array values pass through
+ */
+public final class ArrayFirstTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "array_first";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            if (value instanceof List<?> list) {
+                return list.isEmpty() ? null : list.get(0);
+            }
+            if (value instanceof JsonNode array && array.isArray()) {
+                return array.isEmpty() ? null : array.get(0);
+            }
+            return value;
+        };
+    }
+}
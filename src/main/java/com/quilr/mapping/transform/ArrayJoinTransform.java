@@ -0,0 +1,55 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Join array elements to string.
+ *
+ * Args: {"separator": ","}. Null elements are skipped.
+ */
+public final class ArrayJoinTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "array_join";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String separator = TransformArgs.text(args, "separator", ",");
+
+        return (value, context) -> {
+            if (value == null) return null;
+
+            if (value instanceof List<?> list) {
+                StringJoiner joiner = new StringJoiner(separator);
+                for (Object item : list) {
+                    if (item != null) {
+                        joiner.add(item.toString());
+                    }
+                }
+                return joiner.toString();
+            }
+
+            if (value instanceof JsonNode array && array.isArray()) {
+                StringJoiner joiner = new StringJoiner(separator);
+                for (JsonNode node : array) {
+                    if (!node.isNull()) {
+                        joiner.add(node.asText());
+                    }
+                }
+                return joiner.toString();
+            }
+
+            return value.toString();
+        };
+    }
+}
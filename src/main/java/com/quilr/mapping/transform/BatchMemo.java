@@ -0,0 +1,218 @@
+package com.quilr.mapping.transform;
+
+import com.quilr.mapping.MappingContext;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Memo of deterministic results for the batch being processed by the current thread.
+ *
+ * A consumer opens a memo around each batch. Within it:
+ * <ul>
+ *   <li>a pure transform applied to a value it has already seen in the batch (the same
+ *       timestamp, domain or id across many users of a tenant) returns the earlier result;
+ *       only String, Number and Boolean values are memoized</li>
+ *   <li>uuid(), instant() and localDate() return the value parsed earlier from the same text</li>
+ * </ul>
+ * Outside a batch everything is computed directly. Once the memo holds maxEntries results it
+ * stops growing and further misses are computed without being stored. Failures (an invalid
+ * UUID, an unparseable timestamp) are never memoized.
+ *
+ * The memo is thread-safe, so tasks forked from the batch's thread can share it (see within).
+ *
+ * <pre>
+ *   try (BatchMemo memo = BatchMemo.open(maxEntries, this::record)) {
+ *       records.forEach(this::process);
+ *   }
+ * </pre>
+ */
+public final class BatchMemo implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    public enum Kind {
+        TRANSFORM, UUID, INSTANT, LOCAL_DATE
+    }
+
+    private static final ThreadLocal<BatchMemo> CURRENT = new ThreadLocal<>();
+    private static final Object NULL = new Object();
+
+    private final int maxEntries;
+    private final Consumer<BatchMemo> onClose;
+    private final Map<CompiledTransform, Map<Object, Object>> transformResults = new ConcurrentHashMap<>();
+    private final Map<Kind, Map<String, Object>> parsed = new EnumMap<>(Kind.class);
+    private final LongAdder[] hits = new LongAdder[Kind.values().length];
+    private final LongAdder[] misses = new LongAdder[Kind.values().length];
+    private final AtomicInteger size = new AtomicInteger();
+
+    private BatchMemo(int maxEntries, Consumer<BatchMemo> onClose) {
+        this.maxEntries = maxEntries;
+        this.onClose = onClose;
+        for (Kind kind : Kind.values()) {
+            hits[kind.ordinal()] = new LongAdder();
+            misses[kind.ordinal()] = new LongAdder();
+            // Filled up front so that lookups do not modify the EnumMap
+            parsed.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Start a memo for the current thread, replacing any memo left open
+     *
+     * @param maxEntries Maximum number of memoized results
+     * @param onClose Called with the memo when it is closed (e.g. to record statistics), may be null
+     */
+    public static BatchMemo open(int maxEntries, Consumer<BatchMemo> onClose) {
+        BatchMemo memo = new BatchMemo(maxEntries, onClose);
+        CURRENT.set(memo);
+        return memo;
+    }
+
+    public static BatchMemo open() {
+        return open(DEFAULT_MAX_ENTRIES, null);
+    }
+
+    /**
+     * Memo of the current thread, or null outside a batch
+     */
+    public static BatchMemo current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run a task on the current thread within this memo, e.g. a task forked from the batch's
+     * thread; the thread's own memo, if any, is restored afterwards
+     */
+    public <T> T within(Supplier<T> task) {
+        BatchMemo previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        if (onClose != null) {
+            onClose.accept(this);
+        }
+    }
+
+    /**
+     * Wrap a pure transform so its results are memoized within the current batch
+     */
+    public static CompiledTransform memoize(CompiledTransform transform) {
+        return (value, context) -> {
+            BatchMemo memo = CURRENT.get();
+            if (memo == null || !isMemoizable(value)) {
+                return transform.apply(value, context);
+            }
+            return memo.apply(transform, value, context);
+        };
+    }
+
+    /**
+     * UUID.fromString, memoized within the current batch
+     */
+    public static UUID uuid(String text) {
+        BatchMemo memo = CURRENT.get();
+        return memo != null ? (UUID) memo.parse(Kind.UUID, text, UUID::fromString) : UUID.fromString(text);
+    }
+
+    /**
+     * Timestamp in any format TimestampParser detects, memoized within the current batch
+     *
+     * @return Instant, or null if the text is not a recognised timestamp
+     */
+    public static Instant instant(String text) {
+        BatchMemo memo = CURRENT.get();
+        return memo != null ? (Instant) memo.parse(Kind.INSTANT, text, BatchMemo::parseInstant) : parseInstant(text);
+    }
+
+    /**
+     * yyyy-MM-dd date, memoized within the current batch
+     *
+     * @return Date, or null if the text is not a valid date
+     */
+    public static LocalDate localDate(String text) {
+        BatchMemo memo = CURRENT.get();
+        return memo != null ? (LocalDate) memo.parse(Kind.LOCAL_DATE, text, TimestampParser::parseDate) : TimestampParser.parseDate(text);
+    }
+
+    public long hits(Kind kind) {
+        return hits[kind.ordinal()].sum();
+    }
+
+    public long misses(Kind kind) {
+        return misses[kind.ordinal()].sum();
+    }
+
+    /**
+     * Number of memoized results
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private Object apply(CompiledTransform transform, Object value, MappingContext context) {
+        Map<Object, Object> byValue = transformResults.computeIfAbsent(transform, k -> new ConcurrentHashMap<>());
+        Object result = byValue.get(value);
+        if (result != null) {
+            hits[Kind.TRANSFORM.ordinal()].increment();
+            return result == NULL ? null : result;
+        }
+
+        misses[Kind.TRANSFORM.ordinal()].increment();
+        result = transform.apply(value, context);
+        if (size.get() < maxEntries && byValue.putIfAbsent(value, result != null ? result : NULL) == null) {
+            size.incrementAndGet();
+        }
+        return result;
+    }
+
+    private Object parse(Kind kind, String text, Function<String, Object> parser) {
+        if (text == null) {
+            return parser.apply(null);
+        }
+        Map<String, Object> byText = parsed.get(kind);
+        Object result = byText.get(text);
+        if (result != null) {
+            hits[kind.ordinal()].increment();
+            return result;
+        }
+
+        misses[kind.ordinal()].increment();
+        result = parser.apply(text);
+        if (result != null && size.get() < maxEntries && byText.putIfAbsent(text, result) == null) {
+            size.incrementAndGet();
+        }
+        return result;
+    }
+
+    private static Instant parseInstant(String text) {
+        return TimestampParser.parseInstant(text, TimestampParser.Format.AUTO);
+    }
+
+    private static boolean isMemoizable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+}
@@ -0,0 +1,30 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Parse boolean from string ("true", "1" and "yes" are true)
+ */
+public final class BooleanFromStringTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "boolean_from_string";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            if (value == null) return null;
+            if (value instanceof Boolean) return value;
+
+            String str = value.toString().toLowerCase();
+            return "true".equals(str) || "1".equals(str) || "yes".equals(str);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Build account ID as lower(identifier)_appId, where the identifier is the first of
+ * data.mail, data.userPrincipalName and data.id that is present.
+ *
+ * Args: {"appId": "..."} (defaults to "default")
+ */
+public final class BuildAccountIdTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "build_account_id";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String suffix = "_" + TransformArgs.text(args, "appId", "default");
+
+        return (value, context) -> {
+            String identifier = ContextValues.stringAt(context, "data.mail");
+            if (identifier == null) {
+                identifier = ContextValues.stringAt(context, "data.userPrincipalName");
+            }
+            if (identifier == null) {
+                identifier = ContextValues.stringAt(context, "data.id");
+            }
+            if (identifier == null) {
+                identifier = "unknown";
+            }
+            return identifier.toLowerCase() + suffix;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Return first non-null value from multiple fields.
+ *
+ * Args: {"fields": ["data.mail", "data.userPrincipalName"]} tried in order when the value
+ * itself is null or empty.
+ */
+public final class CoalesceTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "coalesce";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String[] fields = TransformArgs.paths(args, "fields");
+        String[] fallbacks = fields != null ? fields : new String[0];
+
+        return (value, context) -> {
+            if (!ContextValues.isNullOrEmpty(value)) {
+                return value;
+            }
+            for (String fieldPath : fallbacks) {
+                Object fieldValue = ContextValues.valueAt(context, fieldPath);
+                if (!ContextValues.isNullOrEmpty(fieldValue)) {
+                    return fieldValue;
+                }
+            }
+            return null;
+        };
+    }
+}
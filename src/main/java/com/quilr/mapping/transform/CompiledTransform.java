@@ -0,0 +1,19 @@
+package com.quilr.mapping.transform;
+
+import com.quilr.mapping.MappingContext;
+
+/**
+ * A transform bound to the arguments of one field mapping
+ */
+@FunctionalInterface
+public interface CompiledTransform {
+
+    /**
+     * Apply the transform
+     *
+     * @param value Value read from the source paths (may be null)
+     * @param context Per-record mapping context for transforms that read other fields
+     * @return Transformed value
+     */
+    Object apply(Object value, MappingContext context);
+}
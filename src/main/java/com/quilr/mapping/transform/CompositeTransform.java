@@ -0,0 +1,30 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.BiFunction;
+
+/**
+ * A transform whose arguments reference other transforms by name (e.g. a projection whose
+ * entries are computed by transforms). The referenced transforms are bound through the same
+ * catalog, and with the same validation, as the field mapping itself.
+ */
+public interface CompositeTransform extends Transform {
+
+    /**
+     * Bind the transform to its arguments
+     *
+     * @param args Value of field_mappings.transform_args, may be null
+     * @param nested Compiles a referenced transform (or pipeline) from its name and arguments
+     * @return Transform ready to be applied per record
+     */
+    CompiledTransform compile(JsonNode args, BiFunction<String, JsonNode, CompiledTransform> nested);
+
+    @Override
+    default CompiledTransform compile(JsonNode args) {
+        return compile(args, (name, nestedArgs) -> {
+            throw new IllegalArgumentException("Transform '" + name() + "' cannot reference '" + name
+                + "': no transform catalog available");
+        });
+    }
+}
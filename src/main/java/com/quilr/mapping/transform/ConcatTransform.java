@@ -0,0 +1,42 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concatenate multiple values with separator.
+ *
+ * Args: {"fields": [...], "separator": " ", "lowercase": false}. Null fields are skipped.
+ * Without fields the value passes through unchanged.
+ */
+public final class ConcatTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "concat";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String[] fields = TransformArgs.paths(args, "fields");
+        if (fields == null) {
+            return (value, context) -> value;
+        }
+        String separator = TransformArgs.text(args, "separator", "");
+        boolean lowercase = TransformArgs.flag(args, "lowercase");
+
+        return (value, context) -> {
+            List<String> parts = new ArrayList<>(fields.length);
+            for (String fieldPath : fields) {
+                Object fieldValue = ContextValues.valueAt(context, fieldPath);
+                if (fieldValue != null) {
+                    parts.add(fieldValue.toString());
+                }
+            }
+            String result = String.join(separator, parts);
+            return lowercase ? result.toLowerCase() : result;
+        };
+    }
+}
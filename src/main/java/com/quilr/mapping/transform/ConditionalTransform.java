@@ -0,0 +1,44 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * If-then-else conditional logic.
+ *
+ * Args: {"equals": "Member", "then": "...", "else": "..."}. A missing then/else branch keeps
+ * the value.
+ */
+public final class ConditionalTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "conditional";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        if (!TransformArgs.has(args, "equals")) {
+            return (value, context) -> value;
+        }
+        String expected = args.get("equals").asText();
+        boolean hasThen = args.has("then");
+        boolean hasElse = args.has("else");
+        String thenValue = TransformArgs.text(args, "then", null);
+        String elseValue = TransformArgs.text(args, "else", null);
+
+        return (value, context) -> {
+            boolean matches = value != null && value.toString().equals(expected);
+            if (matches && hasThen) {
+                return thenValue;
+            } else if (!matches && hasElse) {
+                return elseValue;
+            }
+            return value;
+        };
+    }
+}
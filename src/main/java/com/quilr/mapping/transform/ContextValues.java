@@ -0,0 +1,53 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.quilr.mapping.MappingContext;
+
+import java.util.Collection;
+
+/**
+ * Helpers for transforms that read other fields of the record
+ */
+final class ContextValues {
+
+    private ContextValues() {
+    }
+
+    /**
+     * Value at a dot-notation path as a String, Boolean, Long or JsonNode (arrays and objects)
+     */
+    static Object valueAt(MappingContext context, String path) {
+        if (context == null || path == null) return null;
+
+        // Memoized per record by the mapping context
+        JsonNode current = context.lookup(path);
+
+        if (current == null || current.isNull()) {
+            return null;
+        }
+
+        if (current.isTextual()) return current.asText();
+        if (current.isBoolean()) return current.asBoolean();
+        if (current.isNumber()) return current.asLong();
+        if (current.isArray() || current.isObject()) return current;
+
+        return current.asText();
+    }
+
+    static String stringAt(MappingContext context, String path) {
+        Object value = valueAt(context, path);
+        return value != null ? value.toString() : null;
+    }
+
+    static JsonNode nodeAt(MappingContext context, String path) {
+        if (context == null || path == null) return null;
+        return context.lookup(path);
+    }
+
+    static boolean isNullOrEmpty(Object value) {
+        if (value == null) return true;
+        if (value instanceof String && ((String) value).isBlank()) return true;
+        if (value instanceof Collection && ((Collection<?>) value).isEmpty()) return true;
+        return false;
+    }
+}
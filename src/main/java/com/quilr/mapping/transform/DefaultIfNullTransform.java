@@ -0,0 +1,27 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Return default value if input is null or empty.
+ *
+ * Args: {"default": "..."}
+ */
+public final class DefaultIfNullTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "default_if_null";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String defaultValue = TransformArgs.text(args, "default", null);
+        return (value, context) -> !ContextValues.isNullOrEmpty(value) ? value : defaultValue;
+    }
+}
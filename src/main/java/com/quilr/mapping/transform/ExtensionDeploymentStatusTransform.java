@@ -0,0 +1,45 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Determine extension deployment status from accountEnabled (the value) and data.userType:
+ * enabled non-guest accounts are "Ready to Deploy", everything else is "Excluded"
+ */
+public final class ExtensionDeploymentStatusTransform implements Transform {
+
+    private static final String READY = "Ready to Deploy";
+    private static final String EXCLUDED = "Excluded";
+
+    @Override
+    public String name() {
+        return "extension_deployment_status";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            Boolean accountEnabled = null;
+
+            if (value instanceof Boolean) {
+                accountEnabled = (Boolean) value;
+            } else if (value != null) {
+                // Handle string "true"/"false" or other types
+                String strValue = value.toString().toLowerCase();
+                if ("true".equals(strValue) || "1".equals(strValue)) {
+                    accountEnabled = true;
+                } else if ("false".equals(strValue) || "0".equals(strValue)) {
+                    accountEnabled = false;
+                }
+            }
+
+            if (accountEnabled == null) {
+                return EXCLUDED;
+            }
+
+            String userType = ContextValues.stringAt(context, "data.userType");
+            boolean isGuest = "guest".equalsIgnoreCase(userType);
+            return accountEnabled && !isGuest ? READY : EXCLUDED;
+        };
+    }
+}
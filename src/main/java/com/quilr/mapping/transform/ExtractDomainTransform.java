@@ -0,0 +1,21 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Extract domain from email address
+ */
+public final class ExtractDomainTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "extract_domain";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        return email -> email.contains("@") ? email.split("@")[1] : null;
+    }
+}
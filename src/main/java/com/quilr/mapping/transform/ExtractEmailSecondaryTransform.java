@@ -0,0 +1,40 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Extract non-domain-matching email from otherMails
+ */
+public final class ExtractEmailSecondaryTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "extract_email_secondary";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            String primaryEmail = ContextValues.stringAt(context, "data.mail");
+            String primaryDomain = null;
+            if (primaryEmail != null && primaryEmail.contains("@")) {
+                primaryDomain = primaryEmail.split("@")[1];
+            }
+
+            JsonNode otherMails = ContextValues.nodeAt(context, "data.otherMails");
+
+            if (otherMails != null && otherMails.isArray()) {
+                for (JsonNode mailNode : otherMails) {
+                    String otherMail = mailNode.asText();
+                    if (otherMail.contains("@")) {
+                        String otherDomain = otherMail.split("@")[1];
+                        if (primaryDomain == null || !otherDomain.equals(primaryDomain)) {
+                            return otherMail.toLowerCase();
+                        }
+                    }
+                }
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Extract domain-matching secondary email from otherMails
+ */
+public final class ExtractSecondaryMailTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "extract_secondary_mail";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            String primaryEmail = ContextValues.stringAt(context, "data.mail");
+            if (primaryEmail == null || !primaryEmail.contains("@")) {
+                return null;
+            }
+
+            String primaryDomain = primaryEmail.split("@")[1];
+            JsonNode otherMails = ContextValues.nodeAt(context, "data.otherMails");
+
+            if (otherMails != null && otherMails.isArray()) {
+                for (JsonNode mailNode : otherMails) {
+                    String otherMail = mailNode.asText();
+                    if (otherMail.contains("@") && otherMail.split("@")[1].equals(primaryDomain)) {
+                        return otherMail.toLowerCase();
+                    }
+                }
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Convert string to lowercase
+ */
+public final class LowercaseTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "lowercase";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        return String::toLowerCase;
+    }
+}
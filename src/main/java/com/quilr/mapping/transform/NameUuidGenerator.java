@@ -0,0 +1,184 @@
+package com.quilr.mapping.transform;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Name-based UUID generator (RFC 4122 version 3 / MD5 or version 5 / SHA-1).
+ *
+ * Version 3 without a namespace produces the same UUIDs as UUID.nameUUIDFromBytes over the
+ * UTF-8 bytes of the name, so existing ids are stable. Unlike nameUUIDFromBytes, the digest,
+ * the byte buffer the name is UTF-8 encoded into and the hash output are reused per thread,
+ * and recently generated names are kept in a small per-thread LRU cache: the same group, role
+ * or department id repeats for every user of a tenant in a batch.
+ *
+ * Instances are thread-safe.
+ */
+public final class NameUuidGenerator {
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    public enum Version {
+        MD5(3, "MD5"),
+        SHA1(5, "SHA-1");
+
+        private final int number;
+        private final String algorithm;
+
+        Version(int number, String algorithm) {
+            this.number = number;
+            this.algorithm = algorithm;
+        }
+
+        public static Version of(int number) {
+            for (Version version : values()) {
+                if (version.number == number) {
+                    return version;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported name-based UUID version: " + number);
+        }
+    }
+
+    private final Version version;
+    private final byte[] namespace;
+    private final int cacheSize;
+    private final ThreadLocal<State> state;
+
+    /**
+     * @param version Hash algorithm / UUID version
+     * @param namespace Namespace UUID hashed before the name, or null to hash the name only
+     * @param cacheSize Maximum names cached per thread; 0 disables the cache
+     */
+    public NameUuidGenerator(Version version, UUID namespace, int cacheSize) {
+        this.version = version;
+        this.namespace = namespace != null ? toBytes(namespace) : null;
+        this.cacheSize = cacheSize;
+        this.state = ThreadLocal.withInitial(State::new);
+    }
+
+    public UUID generate(CharSequence name) {
+        State current = state.get();
+        if (cacheSize <= 0) {
+            return compute(current, name);
+        }
+
+        String key = name.toString();
+        UUID uuid = current.cache.get(key);
+        if (uuid == null) {
+            uuid = compute(current, key);
+            current.cache.put(key, uuid);
+        }
+        return uuid;
+    }
+
+    private UUID compute(State current, CharSequence name) {
+        MessageDigest digest = current.digest;
+        digest.reset();
+        if (namespace != null) {
+            digest.update(namespace);
+        }
+        digest.update(current.buffer, 0, current.encode(name));
+
+        byte[] hash = current.hash;
+        try {
+            digest.digest(hash, 0, hash.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+
+        hash[6] = (byte) ((hash[6] & 0x0f) | (version.number << 4));
+        hash[8] = (byte) ((hash[8] & 0x3f) | 0x80);
+
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (hash[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            lsb = (lsb << 8) | (hash[i] & 0xff);
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        byte[] bytes = new byte[16];
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (lsb >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * Per-thread digest, buffers and cache
+     */
+    private final class State {
+
+        private final MessageDigest digest;
+        private final byte[] hash;
+        private final Map<String, UUID> cache;
+        private byte[] buffer = new byte[128];
+
+        State() {
+            try {
+                this.digest = MessageDigest.getInstance(version.algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(version.algorithm + " not supported", e);
+            }
+            this.hash = new byte[digest.getDigestLength()];
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        /**
+         * UTF-8 encode the name into the buffer (unpaired surrogates become '?', as with
+         * String.getBytes)
+         *
+         * @return Number of bytes written
+         */
+        int encode(CharSequence name) {
+            int length = name.length();
+            if (buffer.length < length * 3) {
+                buffer = new byte[Math.max(length * 3, buffer.length * 2)];
+            }
+
+            byte[] out = buffer;
+            int pos = 0;
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                if (c < 0x80) {
+                    out[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[pos++] = (byte) (0xc0 | (c >> 6));
+                    out[pos++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(name.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                        out[pos++] = (byte) (0xf0 | (codePoint >> 18));
+                        out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                        out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                        out[pos++] = (byte) (0x80 | (codePoint & 0x3f));
+                    } else {
+                        out[pos++] = '?';
+                    }
+                } else {
+                    out[pos++] = (byte) (0xe0 | (c >> 12));
+                    out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    out[pos++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Navigate nested JSON structure.
+ *
+ * Args: {"path": "manager.id"} in dot notation relative to the value, split once.
+ */
+public final class NestedLookupTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "nested_lookup";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        if (!TransformArgs.has(args, "path")) {
+            return (value, context) -> null;
+        }
+        String[] parts = args.get("path").asText().split("\\.");
+
+        return (value, context) -> {
+            if (!(value instanceof JsonNode node)) {
+                return null;
+            }
+            for (String part : parts) {
+                if (node == null || node.isNull()) {
+                    return null;
+                }
+                node = node.get(part);
+            }
+            return node != null && !node.isNull() ? node : null;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.log4j.Log4j2;
+
+import java.time.temporal.Temporal;
+
+/**
+ * Parse a date/time string to an Instant, or to a LocalDate when it is a plain date.
+ *
+ * Args: {"format": "auto" | "iso_date_time" | "date" | "epoch_millis" | "epoch_seconds"}.
+ * Without a format it is detected from the text; see TimestampParser. Values that are already
+ * dates pass through. With auto detection, text that is not a timestamp but starts with a
+ * valid yyyy-MM-dd yields that date.
+ */
+@Log4j2
+public final class ParseIsoDateTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "parse_iso_date";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        TimestampParser.Format format = TransformArgs.has(args, "format")
+            ? TimestampParser.Format.of(args.get("format").asText())
+            : TimestampParser.Format.AUTO;
+        return (value, context) -> parse(value, format);
+    }
+
+    private static Object parse(Object value, TimestampParser.Format format) {
+        if (value == null) return null;
+        if (value instanceof Temporal) return value;
+
+        String dateStr = value.toString();
+        if (dateStr.isBlank()) return null;
+
+        Object parsed = TimestampParser.parse(dateStr, format);
+        if (parsed == null && format == TimestampParser.Format.AUTO && dateStr.length() > 10) {
+            parsed = TimestampParser.parseDate(dateStr.substring(0, 10));
+        }
+        if (parsed == null) {
+            log.warn("Failed to parse date: {}", value);
+        }
+        return parsed;
+    }
+}
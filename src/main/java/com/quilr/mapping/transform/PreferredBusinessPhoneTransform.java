@@ -0,0 +1,42 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Extract first non-empty business phone
+ */
+public final class PreferredBusinessPhoneTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "preferred_business_phone";
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        return (value, context) -> {
+            if (value instanceof List<?> phones) {
+                for (Object phone : phones) {
+                    if (phone != null && !phone.toString().isBlank()) {
+                        return phone.toString();
+                    }
+                }
+            }
+            if (value instanceof JsonNode phones && phones.isArray()) {
+                for (JsonNode phone : phones) {
+                    if (!phone.isNull() && !phone.asText().isBlank()) {
+                        return phone.asText();
+                    }
+                }
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quilr.mapping.CompiledPath;
+import com.quilr.mapping.MappingContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Project the value (usually the source object, e.g. $.data or a group element) into a new
+ * JSON object, typically for an extraInfo column.
+ *
+ * Args: {"fields": {"key": spec, ...}} where spec is either a path relative to the value
+ * (shorthand for {"path": ...}) or an object with:
+ * <ul>
+ *   <li>path: node to project; omitted for transform entries that read the whole value</li>
+ *   <li>as: node (default, copied as-is), text, strings (array of texts), boolean, or first
+ *       (first element of an array, the node itself otherwise)</li>
+ *   <li>transform / args: transform (or pipeline) applied to the projected node</li>
+ *   <li>value: constant</li>
+ * </ul>
+ * Nulls, blank strings and empty arrays are left out, as is the whole object when nothing is
+ * projected. The result is a JsonNode tree that is written to jsonb as-is.
+ */
+public final class ProjectTransform implements CompositeTransform {
+
+    private enum Mode {
+        NODE, TEXT, STRINGS, BOOLEAN, FIRST
+    }
+
+    private record Entry(String key, CompiledPath path, Mode mode, CompiledTransform transform, JsonNode constant) {
+    }
+
+    @Override
+    public String name() {
+        return "project";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args, BiFunction<String, JsonNode, CompiledTransform> nested) {
+        JsonNode fields = args != null ? args.get("fields") : null;
+        if (fields == null || !fields.isObject() || fields.isEmpty()) {
+            throw new IllegalArgumentException("project requires a non-empty \"fields\" object");
+        }
+
+        List<Entry> compiled = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> it = fields.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> field = it.next();
+            compiled.add(compileEntry(field.getKey(), field.getValue(), nested));
+        }
+        Entry[] entries = compiled.toArray(new Entry[0]);
+
+        return (value, context) -> {
+            if (value == null) {
+                return null;
+            }
+            JsonNode source = toNode(value);
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            for (Entry entry : entries) {
+                JsonNode projected = project(entry, source, value, context);
+                if (!isEmpty(projected)) {
+                    result.set(entry.key(), projected);
+                }
+            }
+            return result.isEmpty() ? null : result;
+        };
+    }
+
+    private static Entry compileEntry(String key, JsonNode spec,
+                                      BiFunction<String, JsonNode, CompiledTransform> nested) {
+        if (spec.isTextual()) {
+            return new Entry(key, CompiledPath.forNode(spec.asText()), Mode.NODE, null, null);
+        }
+        if (!spec.isObject()) {
+            throw new IllegalArgumentException("project field '" + key + "' must be a path or an object");
+        }
+        if (spec.has("value")) {
+            return new Entry(key, null, Mode.NODE, null, spec.get("value"));
+        }
+
+        CompiledPath path = spec.hasNonNull("path") ? CompiledPath.forNode(spec.get("path").asText()) : null;
+        CompiledTransform transform = spec.hasNonNull("transform")
+            ? nested.apply(spec.get("transform").asText(), spec.get("args"))
+            : null;
+        if (path == null && transform == null) {
+            throw new IllegalArgumentException("project field '" + key + "' needs a path, a transform or a value");
+        }
+
+        Mode mode = Mode.NODE;
+        if (spec.hasNonNull("as")) {
+            try {
+                mode = Mode.valueOf(spec.get("as").asText().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("project field '" + key + "' has unknown mode '" + spec.get("as").asText() + "'");
+            }
+        }
+        return new Entry(key, path, mode, transform, null);
+    }
+
+    private static JsonNode project(Entry entry, JsonNode source, Object value, MappingContext context) {
+        if (entry.constant() != null) {
+            return entry.constant();
+        }
+
+        JsonNode node = entry.path() != null ? toNode(entry.path().read(source)) : source;
+        if (entry.transform() != null) {
+            node = toNode(entry.transform().apply(entry.path() != null ? node : value, context));
+        }
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+
+        return switch (entry.mode()) {
+            case NODE -> node;
+            case TEXT -> node.isValueNode() ? JsonNodeFactory.instance.textNode(node.asText()) : null;
+            case BOOLEAN -> node.isValueNode() ? JsonNodeFactory.instance.booleanNode(node.asBoolean()) : null;
+            case FIRST -> node.isArray() ? node.get(0) : node;
+            case STRINGS -> {
+                if (!node.isArray()) {
+                    yield null;
+                }
+                ArrayNode strings = JsonNodeFactory.instance.arrayNode(node.size());
+                for (JsonNode element : node) {
+                    if (!element.isNull()) {
+                        strings.add(element.asText());
+                    }
+                }
+                yield strings;
+            }
+        };
+    }
+
+    private static boolean isEmpty(JsonNode node) {
+        return node == null || node.isNull() || node.isMissingNode()
+            || (node.isTextual() && node.asText().isBlank())
+            || (node.isArray() && node.isEmpty());
+    }
+
+    /**
+     * JSON representation of a transform result or a JsonPath read
+     */
+    private static JsonNode toNode(Object value) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof JsonNode node) {
+            return node;
+        }
+        if (value instanceof CharSequence text) {
+            return nodes.textNode(text.toString());
+        }
+        if (value instanceof Boolean flag) {
+            return nodes.booleanNode(flag);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return nodes.numberNode(((Number) value).longValue());
+        }
+        if (value instanceof BigDecimal decimal) {
+            return nodes.numberNode(decimal);
+        }
+        if (value instanceof BigInteger integer) {
+            return nodes.numberNode(integer);
+        }
+        if (value instanceof Number number) {
+            return nodes.numberNode(number.doubleValue());
+        }
+        if (value instanceof Collection<?> collection) {
+            ArrayNode array = nodes.arrayNode(collection.size());
+            collection.forEach(element -> array.add(toNode(element)));
+            return array;
+        }
+        if (value instanceof Map<?, ?> map) {
+            ObjectNode object = nodes.objectNode();
+            map.forEach((key, element) -> object.set(String.valueOf(key), toNode(element)));
+            return object;
+        }
+        return nodes.textNode(value.toString());
+    }
+}
@@ -0,0 +1,33 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Split string and take element at index.
+ *
+ * Args: {"delimiter": ",", "index": 0}. The delimiter is a regular expression, compiled once.
+ */
+public final class SplitTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "split";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        if (args == null) {
+            return value -> null;
+        }
+        Pattern delimiter = Pattern.compile(TransformArgs.text(args, "delimiter", ","));
+        int index = TransformArgs.integer(args, "index", 0);
+
+        return value -> {
+            String[] parts = delimiter.split(value);
+            return index >= 0 && index < parts.length ? parts[index] : null;
+        };
+    }
+}
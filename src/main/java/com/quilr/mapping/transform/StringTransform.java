@@ -0,0 +1,33 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Transform that maps a string to a string without reading other fields of the record.
+ *
+ * Adjacent string transforms in a pipeline (e.g. "trim|lowercase|extract_domain") are fused
+ * into a single step: the value is converted to a String once and passed between the
+ * operators directly. String transforms are pure.
+ */
+public interface StringTransform extends Transform {
+
+    /**
+     * Bind the transform to the arguments of one field mapping
+     *
+     * @return Operator applied to non-null strings; may return null, which ends the chain
+     */
+    UnaryOperator<String> compileString(JsonNode args);
+
+    @Override
+    default boolean isPure() {
+        return true;
+    }
+
+    @Override
+    default CompiledTransform compile(JsonNode args) {
+        UnaryOperator<String> operator = compileString(args);
+        return (value, context) -> value != null ? operator.apply(value.toString()) : null;
+    }
+}
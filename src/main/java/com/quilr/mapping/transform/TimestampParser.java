@@ -0,0 +1,264 @@
+package com.quilr.mapping.transform;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Exception-free parser for the timestamp formats vendors send.
+ *
+ * Recognised formats:
+ * <ul>
+ *   <li>ISO date-time with a Z or numeric offset: 2024-05-01T10:15:30Z, 2024-05-01T10:15:30.1234567+05:30,
+ *       2024-05-01T10:15:30-0800; without a zone the time is taken as UTC. Seconds and the
+ *       fraction are optional and a space may replace the T.</li>
+ *   <li>Date only: 2024-05-01</li>
+ *   <li>Epoch milliseconds (or seconds when declared): 1714558530000</li>
+ * </ul>
+ * With Format.AUTO the format is picked from the shape of the text; a mapping that declares its
+ * format skips detection. Unparseable input yields null instead of a DateTimeParseException.
+ */
+public final class TimestampParser {
+
+    public enum Format {
+        AUTO, ISO_DATE_TIME, DATE, EPOCH_MILLIS, EPOCH_SECONDS;
+
+        /**
+         * Format by name, case-insensitive (e.g. "epoch_millis")
+         *
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown timestamp format '" + name + "'");
+        }
+    }
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private TimestampParser() {
+    }
+
+    /**
+     * Parse to an Instant, or to a LocalDate when the text is a plain date
+     *
+     * @return Instant, LocalDate, or null if the text does not match the format
+     */
+    public static Object parse(String text, Format format) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        return switch (format) {
+            case DATE -> parseDate(text);
+            case ISO_DATE_TIME -> parseDateTime(text);
+            case EPOCH_MILLIS -> parseEpoch(text, true);
+            case EPOCH_SECONDS -> parseEpoch(text, false);
+            case AUTO -> {
+                if (isDateOnly(text)) {
+                    yield parseDate(text);
+                }
+                yield isEpoch(text) ? parseEpoch(text, true) : parseDateTime(text);
+            }
+        };
+    }
+
+    /**
+     * Parse to an Instant; a plain date is taken as the start of that day in UTC
+     *
+     * @return Instant, or null if the text does not match the format
+     */
+    public static Instant parseInstant(String text, Format format) {
+        Object parsed = parse(text, format);
+        if (parsed instanceof LocalDate date) {
+            return Instant.ofEpochSecond(date.toEpochDay() * SECONDS_PER_DAY);
+        }
+        return (Instant) parsed;
+    }
+
+    /**
+     * Parse yyyy-MM-dd
+     *
+     * @return Date, or null if the text is not a valid date
+     */
+    public static LocalDate parseDate(String text) {
+        if (text == null || !isDateOnly(text)) {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        return isValidDate(year, month, day) ? LocalDate.of(year, month, day) : null;
+    }
+
+    private static Instant parseDateTime(String text) {
+        int length = text.length();
+        if (length < 16 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || (text.charAt(10) != 'T' && text.charAt(10) != 't' && text.charAt(10) != ' ')
+                || text.charAt(13) != ':') {
+            return null;
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        if (!isValidDate(year, month, day) || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int pos = 16;
+        int second = 0;
+        int nanos = 0;
+        if (pos < length && text.charAt(pos) == ':') {
+            second = digits(text, pos + 1, 2);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            pos += 3;
+
+            if (pos < length && (text.charAt(pos) == '.' || text.charAt(pos) == ',')) {
+                pos++;
+                int fractionDigits = 0;
+                while (pos < length && isDigit(text.charAt(pos))) {
+                    if (fractionDigits < 9) {
+                        nanos = nanos * 10 + (text.charAt(pos) - '0');
+                        fractionDigits++;
+                    }
+                    pos++;
+                }
+                if (fractionDigits == 0) {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+
+        int offsetSeconds = 0;
+        if (pos < length) {
+            char zone = text.charAt(pos);
+            if (zone == 'Z' || zone == 'z') {
+                pos++;
+            } else if (zone == '+' || zone == '-') {
+                int offsetHours = digits(text, pos + 1, 2);
+                pos += 3;
+                int offsetMinutes = 0;
+                if (pos < length) {
+                    if (text.charAt(pos) == ':') {
+                        pos++;
+                    }
+                    offsetMinutes = digits(text, pos, 2);
+                    pos += 2;
+                }
+                if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                    return null;
+                }
+                offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (zone == '-' ? -1 : 1);
+            } else {
+                return null;
+            }
+        }
+        if (pos != length) {
+            return null;
+        }
+
+        long epochSecond = epochDay(year, month, day) * SECONDS_PER_DAY
+            + hour * 3600L + minute * 60L + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    private static Instant parseEpoch(String text, boolean millis) {
+        if (!isEpoch(text) || text.length() > 19) {
+            return null;
+        }
+        long value = 0;
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        for (int i = start; i < text.length(); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        if (start == 1) {
+            value = -value;
+        }
+        return millis ? Instant.ofEpochMilli(value) : Instant.ofEpochSecond(value);
+    }
+
+    private static boolean isDateOnly(String text) {
+        return text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-';
+    }
+
+    private static boolean isEpoch(String text) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        if (start == text.length()) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int maxDay = switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= maxDay;
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Days since 1970-01-01 for a valid date with a non-negative year (as LocalDate.toEpochDay)
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Parse a fixed number of ASCII digits
+     *
+     * @return Value, or -1 if the range is out of bounds or contains a non-digit
+     */
+    private static int digits(String text, int offset, int count) {
+        if (offset < 0 || offset + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
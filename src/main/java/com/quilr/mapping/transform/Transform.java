@@ -0,0 +1,38 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A named transform function that can be referenced from field_mappings.transform.
+ *
+ * Arguments are parsed once, when a mapping plan is built, into a CompiledTransform that is
+ * applied per record. Implementations should reject invalid arguments in compile() with an
+ * IllegalArgumentException so the mapping is reported when the plan is built.
+ *
+ * Implementations are discovered through ServiceLoader (META-INF/services) and as Spring beans,
+ * and are only usable once registered in transform_functions under the same name. A row whose
+ * implementation_class is not discovered is instantiated through its no-arg constructor.
+ */
+public interface Transform {
+
+    /**
+     * Name used in field_mappings.transform and transform_functions.name (lowercase)
+     */
+    String name();
+
+    /**
+     * Bind the transform to the arguments of one field mapping
+     *
+     * @param args Value of field_mappings.transform_args, may be null
+     * @return Transform ready to be applied per record
+     */
+    CompiledTransform compile(JsonNode args);
+
+    /**
+     * Whether the result depends only on the value and the arguments (not on other fields of
+     * the record). Pure transforms are memoized per batch, see BatchMemo.
+     */
+    default boolean isPure() {
+        return false;
+    }
+}
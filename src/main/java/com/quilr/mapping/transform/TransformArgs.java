@@ -0,0 +1,49 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Helpers for reading transform_args when a transform is compiled
+ */
+final class TransformArgs {
+
+    private TransformArgs() {
+    }
+
+    static boolean has(JsonNode args, String name) {
+        return args != null && args.has(name);
+    }
+
+    static String text(JsonNode args, String name, String defaultValue) {
+        return has(args, name) ? args.get(name).asText() : defaultValue;
+    }
+
+    static boolean flag(JsonNode args, String name) {
+        return has(args, name) && args.get(name).asBoolean();
+    }
+
+    static int integer(JsonNode args, String name, int defaultValue) {
+        return has(args, name) ? args.get(name).asInt() : defaultValue;
+    }
+
+    /**
+     * Field paths listed in an array argument (e.g. "fields": ["data.givenName", "data.surname"])
+     *
+     * @return Paths in order, or null if the argument is absent
+     * @throws IllegalArgumentException if the argument is not an array
+     */
+    static String[] paths(JsonNode args, String name) {
+        if (!has(args, name)) {
+            return null;
+        }
+        JsonNode node = args.get(name);
+        if (!node.isArray()) {
+            throw new IllegalArgumentException("'" + name + "' must be an array of field paths");
+        }
+        String[] paths = new String[node.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = node.get(i).asText();
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,122 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiles an ordered chain of transforms (field_mappings.transform = "trim|lowercase|...")
+ * into one CompiledTransform.
+ *
+ * Each step receives the previous step's result. Runs of adjacent StringTransform steps are
+ * fused into a single stage that converts the value to a String once and stops at the first
+ * null. Steps that read other fields of the record get the same MappingContext, so its memo is
+ * shared across the chain.
+ */
+public final class TransformPipeline {
+
+    /**
+     * Separator between step names in field_mappings.transform
+     */
+    public static final char SEPARATOR = '|';
+
+    private TransformPipeline() {
+    }
+
+    public static boolean isPipeline(String transformName) {
+        return transformName != null && transformName.indexOf(SEPARATOR) >= 0;
+    }
+
+    /**
+     * Arguments of each step of a pipeline. transform_args must be null or an array with one
+     * entry per step (null for steps without arguments).
+     *
+     * @throws IllegalArgumentException if transform_args does not match the steps
+     */
+    public static List<JsonNode> stepArgs(JsonNode args, int steps) {
+        List<JsonNode> stepArgs = new ArrayList<>(steps);
+        if (args == null || args.isNull()) {
+            for (int i = 0; i < steps; i++) {
+                stepArgs.add(null);
+            }
+            return stepArgs;
+        }
+        if (!args.isArray() || args.size() > steps) {
+            throw new IllegalArgumentException(
+                "transform_args of a " + steps + "-step pipeline must be an array with at most " + steps + " entries");
+        }
+        for (int i = 0; i < steps; i++) {
+            JsonNode step = args.get(i);
+            stepArgs.add(step == null || step.isNull() ? null : step);
+        }
+        return stepArgs;
+    }
+
+    /**
+     * Compile the steps, fusing adjacent string transforms
+     *
+     * @param steps Transforms in application order
+     * @param args Arguments of each step (same size as steps, entries may be null)
+     * @param nested Compiles transforms referenced by CompositeTransform steps
+     */
+    public static CompiledTransform compile(List<Transform> steps, List<JsonNode> args,
+                                            BiFunction<String, JsonNode, CompiledTransform> nested) {
+        List<CompiledTransform> stages = new ArrayList<>();
+        List<UnaryOperator<String>> stringRun = new ArrayList<>();
+
+        for (int i = 0; i < steps.size(); i++) {
+            Transform step = steps.get(i);
+            if (step instanceof StringTransform stringStep) {
+                stringRun.add(stringStep.compileString(args.get(i)));
+                continue;
+            }
+            if (!stringRun.isEmpty()) {
+                stages.add(fuse(stringRun));
+                stringRun.clear();
+            }
+            stages.add(step instanceof CompositeTransform composite
+                ? composite.compile(args.get(i), nested)
+                : step.compile(args.get(i)));
+        }
+        if (!stringRun.isEmpty()) {
+            stages.add(fuse(stringRun));
+        }
+
+        if (stages.size() == 1) {
+            return stages.get(0);
+        }
+        CompiledTransform[] chain = stages.toArray(new CompiledTransform[0]);
+        return (value, context) -> {
+            Object current = value;
+            for (CompiledTransform stage : chain) {
+                current = stage.apply(current, context);
+            }
+            return current;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompiledTransform fuse(List<UnaryOperator<String>> run) {
+        if (run.size() == 1) {
+            UnaryOperator<String> operator = run.get(0);
+            return (value, context) -> value != null ? operator.apply(value.toString()) : null;
+        }
+        UnaryOperator<String>[] operators = run.toArray(new UnaryOperator[0]);
+        return (value, context) -> {
+            if (value == null) {
+                return null;
+            }
+            String current = value.toString();
+            for (UnaryOperator<String> operator : operators) {
+                current = operator.apply(current);
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Remove leading and trailing whitespace
+ */
+public final class TrimTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "trim";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        return String::trim;
+    }
+}
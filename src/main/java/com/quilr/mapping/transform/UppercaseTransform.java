@@ -0,0 +1,21 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Convert string to uppercase
+ */
+public final class UppercaseTransform implements StringTransform {
+
+    @Override
+    public String name() {
+        return "uppercase";
+    }
+
+    @Override
+    public UnaryOperator<String> compileString(JsonNode args) {
+        return String::toUpperCase;
+    }
+}
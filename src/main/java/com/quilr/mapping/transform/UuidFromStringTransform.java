@@ -0,0 +1,47 @@
+package com.quilr.mapping.transform;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.UUID;
+
+/**
+ * Parse UUID from string.
+ *
+ * Args: {"field": "tenant"} read from the record when the value is blank or not a UUID.
+ */
+@Log4j2
+public final class UuidFromStringTransform implements Transform {
+
+    @Override
+    public String name() {
+        return "uuid_from_string";
+    }
+
+    @Override
+    public CompiledTransform compile(JsonNode args) {
+        String fieldPath = TransformArgs.text(args, "field", null);
+
+        return (value, context) -> {
+            if (value != null && !value.toString().isBlank()) {
+                try {
+                    return BatchMemo.uuid(value.toString());
+                } catch (Exception e) {
+                    log.warn("Failed to parse UUID from: {}", value);
+                }
+            }
+
+            if (fieldPath != null) {
+                Object fieldValue = ContextValues.valueAt(context, fieldPath);
+                if (fieldValue != null) {
+                    try {
+                        return BatchMemo.uuid(fieldValue.toString());
+                    } catch (Exception e) {
+                        log.warn("Failed to parse UUID from field {}: {}", fieldPath, fieldValue);
+                    }
+                }
+            }
+            return null;
+        };
+    }
+}
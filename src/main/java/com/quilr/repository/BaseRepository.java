@@ -1,5 +1,6 @@
 package com.quilr.repository;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 
@@ -28,4 +29,20 @@ public abstract class BaseRepository {
             return null;
         }
     }
+    
+    /**
+     * Serialize a JSON tree (e.g. a projected extraInfo) for a ?::jsonb parameter.
+     * Returns null if the node is null, empty or conversion fails.
+     */
+    protected String toJsonString(JsonNode node) {
+        if (node == null || node.isNull() || (node.isContainerNode() && node.isEmpty())) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(node);
+        } catch (Exception e) {
+            log.warn("Failed to serialize JSON node: {}", e.getMessage());
+            return null;
+        }
+    }
 }
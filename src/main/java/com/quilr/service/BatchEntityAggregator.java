@@ -0,0 +1,177 @@
+package com.quilr.service;
+
+import com.quilr.dto.TransformedEntity;
+import com.quilr.dto.entities.*;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Collapses the entities shared by the transformed records of one consumer batch.
+ *
+ * Tenants, instances, applications, accounts, departments, office locations, groups and
+ * roles are keyed by their natural key (e.g. tenant_id + id) so that each is upserted once
+ * per batch; when several records carry the same key the last record wins, matching the
+ * result of upserting them in record order. The per-record parts (user and junction links)
+ * are kept in record order. Links refer to the transformer-generated IDs of their own
+ * record's entities; the ID mappings returned by the upsert methods resolve those to the
+ * database ID of the entity that was written.
+ *
+ * Not thread-safe; one instance per batch.
+ */
+public class BatchEntityAggregator {
+
+    /**
+     * Natural key of tenant-scoped entities
+     */
+    private record NaturalKey(UUID tenantId, String id) {
+    }
+
+    private final List<TransformedEntity> records = new ArrayList<>();
+    private final Map<UUID, TenantEntity> tenants = new LinkedHashMap<>();
+    private final Map<UUID, InstanceEntity> instances = new LinkedHashMap<>();
+    private final Map<String, ApplicationEntity> applications = new LinkedHashMap<>();
+    private final Map<NaturalKey, AccountEntity> accounts = new LinkedHashMap<>();
+    private final Shared<DepartmentEntity> departments = new Shared<>(DepartmentEntity::getDepartmentId);
+    private final Shared<OfficeLocationEntity> officeLocations = new Shared<>(OfficeLocationEntity::getOfficeLocationId);
+    private final Shared<GroupEntity> groups = new Shared<>(GroupEntity::getGroupId);
+    private final Shared<RoleEntity> roles = new Shared<>(RoleEntity::getRoleId);
+    private int sharedEntities;
+
+    /**
+     * Add the entities of a transformed record
+     */
+    public void add(TransformedEntity entity) {
+        records.add(entity);
+
+        if (entity.getTenant() != null) {
+            sharedEntities++;
+            tenants.put(entity.getTenant().getTenantId(), entity.getTenant());
+        }
+        if (entity.getInstance() != null) {
+            sharedEntities++;
+            instances.put(entity.getInstance().getInstanceId(), entity.getInstance());
+        }
+        if (entity.getApplication() != null) {
+            sharedEntities++;
+            applications.put(entity.getApplication().getId_(), entity.getApplication());
+        }
+        if (entity.getAccount() != null) {
+            sharedEntities++;
+            AccountEntity account = entity.getAccount();
+            accounts.put(new NaturalKey(account.getTenantId(), account.getId()), account);
+        }
+
+        sharedEntities += departments.addAll(entity.getDepartments(), DepartmentEntity::getTenantId, DepartmentEntity::getId);
+        sharedEntities += officeLocations.addAll(entity.getOfficeLocations(), OfficeLocationEntity::getTenantId, OfficeLocationEntity::getId);
+        sharedEntities += groups.addAll(entity.getGroups(), GroupEntity::getTenantId, GroupEntity::getId);
+        sharedEntities += roles.addAll(entity.getRoles(), RoleEntity::getTenantId, RoleEntity::getId);
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     * Records in the order they were added
+     */
+    public List<TransformedEntity> getRecords() {
+        return records;
+    }
+
+    public Collection<TenantEntity> getTenants() {
+        return tenants.values();
+    }
+
+    public Collection<InstanceEntity> getInstances() {
+        return instances.values();
+    }
+
+    public Collection<ApplicationEntity> getApplications() {
+        return applications.values();
+    }
+
+    public Collection<AccountEntity> getAccounts() {
+        return accounts.values();
+    }
+
+    /**
+     * Shared entities carried by the records, before collapsing
+     */
+    public int getSharedEntityCount() {
+        return sharedEntities;
+    }
+
+    /**
+     * Shared entities left after collapsing, i.e. the number of upserts
+     */
+    public int getUniqueEntityCount() {
+        return tenants.size() + instances.size() + applications.size() + accounts.size()
+            + departments.size() + officeLocations.size() + groups.size() + roles.size();
+    }
+
+    /**
+     * Upsert each unique department once
+     *
+     * @param upsert Writes a department and returns its database ID
+     * @return Mapping from the transformer-generated IDs of every record to the database IDs
+     */
+    public Map<UUID, UUID> upsertDepartments(Function<DepartmentEntity, UUID> upsert) {
+        return departments.upsert(upsert);
+    }
+
+    public Map<UUID, UUID> upsertOfficeLocations(Function<OfficeLocationEntity, UUID> upsert) {
+        return officeLocations.upsert(upsert);
+    }
+
+    public Map<UUID, UUID> upsertGroups(Function<GroupEntity, UUID> upsert) {
+        return groups.upsert(upsert);
+    }
+
+    public Map<UUID, UUID> upsertRoles(Function<RoleEntity, UUID> upsert) {
+        return roles.upsert(upsert);
+    }
+
+    /**
+     * Tenant-scoped entities of one kind, last writer per natural key. Entities without a
+     * complete natural key are not collapsed.
+     */
+    private static final class Shared<E> {
+
+        private final Function<E, UUID> originalId;
+        private final Map<Object, E> entities = new LinkedHashMap<>();
+        private final Map<UUID, Object> keys = new HashMap<>();
+
+        Shared(Function<E, UUID> originalId) {
+            this.originalId = originalId;
+        }
+
+        int addAll(List<E> additions, Function<E, UUID> tenantId, Function<E, String> id) {
+            if (additions == null) {
+                return 0;
+            }
+            for (E entity : additions) {
+                UUID original = originalId.apply(entity);
+                Object key = tenantId.apply(entity) != null && id.apply(entity) != null
+                    ? new NaturalKey(tenantId.apply(entity), id.apply(entity))
+                    : original;
+                entities.put(key, entity);
+                keys.put(original, key);
+            }
+            return additions.size();
+        }
+
+        int size() {
+            return entities.size();
+        }
+
+        Map<UUID, UUID> upsert(Function<E, UUID> upsert) {
+            Map<Object, UUID> written = new HashMap<>();
+            entities.forEach((key, entity) -> written.put(key, upsert.apply(entity)));
+
+            Map<UUID, UUID> mapping = new HashMap<>();
+            keys.forEach((original, key) -> mapping.put(original, written.get(key)));
+            return mapping;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.quilr.service;
 
 import com.quilr.dto.TransformedEntity;
 
+import java.util.List;
+
 /**
  * Service interface for ingesting transformed entities into PostgreSQL.
  * Handles upsert operations with parent validation and transaction management.
@@ -17,4 +19,14 @@ public interface EntityIngestionService {
      * @throws RuntimeException if database operation fails
      */
     void ingestTransformedEntity(TransformedEntity entity);
+    
+    /**
+     * Ingest the transformed entities of a consumer batch in one transaction.
+     * Entities shared by several records (tenant, groups, roles, ...) are upserted once,
+     * the last record winning; users and junction links are upserted per record.
+     * 
+     * @param entities Transformed entities in record order
+     * @throws RuntimeException if database operation fails
+     */
+    void ingestBatch(List<TransformedEntity> entities);
 }
@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -25,6 +26,11 @@ import java.util.UUID;
  * 6. Upsert departments, office locations, groups, roles
  * 7. Upsert user
  * 8. Upsert junction table links
+ * 
+ * Apps records carry only tenant, instance and application; the user steps are skipped.
+ * 
+ * Batches follow the same flow with the shared entities (steps 2-6) collapsed across the
+ * records by BatchEntityAggregator, so each is upserted once per batch.
  */
 @Service
 @Log4j2
@@ -133,17 +139,20 @@ public class EntityIngestionServiceImpl implements EntityIngestionService {
             }
             
             // 9. Upsert user
-            userRepository.upsert(entity.getUser());
-            log.debug("Upserted user: {}", entity.getUser().getUserId());
+            if (entity.getUser() != null) {
+                userRepository.upsert(entity.getUser());
+                log.debug("Upserted user: {}", entity.getUser().getUserId());
+            }
             
-            // 10. Upsert junction table links with corrected IDs
+            // 10. Upsert junction table links with corrected IDs (streamed parts of a large user
+            // carry links without the user, which was ingested with the first part)
             upsertJunctionTableLinks(entity, departmentIdMapping, officeLocationIdMapping, groupIdMapping, roleIdMapping);
             
             log.info("Successfully ingested entity: {} - Tenant: {}, Instance: {}, Application: {}, Account: {}, User: {}, Groups: {}, Roles: {}", 
                 entity.getEntityId(), tenantId, instanceId, 
                 entity.getApplication() != null ? entity.getApplication().getId_() : "N/A",
                 entity.getAccount() != null ? entity.getAccount().getId() : "N/A",
-                entity.getUser().getUserId(), 
+                entity.getUser() != null ? entity.getUser().getUserId() : "N/A", 
                 entity.getGroups().size(), entity.getRoles().size());
                 
         } catch (Exception e) {
@@ -152,6 +161,62 @@ public class EntityIngestionServiceImpl implements EntityIngestionService {
         }
     }
     
+    @Override
+    @Transactional
+    public void ingestBatch(List<TransformedEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        
+        BatchEntityAggregator batch = new BatchEntityAggregator();
+        entities.forEach(batch::add);
+        
+        log.info("Starting batch ingestion for {} entities - shared entities: {}, unique: {}", 
+            entities.size(), batch.getSharedEntityCount(), batch.getUniqueEntityCount());
+        try {
+            batch.getTenants().forEach(this::upsertTenant);
+            batch.getInstances().forEach(this::upsertInstance);
+            batch.getApplications().forEach(this::upsertApplication);
+            batch.getAccounts().forEach(this::upsertAccount);
+            
+            Map<UUID, UUID> departmentIdMapping = batch.upsertDepartments(dept -> {
+                UUID actualId = departmentRepository.upsert(dept);
+                dept.setDepartmentId(actualId);
+                return actualId;
+            });
+            Map<UUID, UUID> officeLocationIdMapping = batch.upsertOfficeLocations(loc -> {
+                UUID actualId = officeLocationRepository.upsert(loc);
+                loc.setOfficeLocationId(actualId);
+                return actualId;
+            });
+            Map<UUID, UUID> groupIdMapping = batch.upsertGroups(group -> {
+                UUID actualId = groupRepository.upsert(group);
+                group.setGroupId(actualId);
+                return actualId;
+            });
+            Map<UUID, UUID> roleIdMapping = batch.upsertRoles(role -> {
+                UUID actualId = roleRepository.upsert(role);
+                role.setRoleId(actualId);
+                return actualId;
+            });
+            
+            for (TransformedEntity entity : batch.getRecords()) {
+                if (entity.getUser() != null) {
+                    userRepository.upsert(entity.getUser());
+                    log.debug("Upserted user: {}", entity.getUser().getUserId());
+                }
+                upsertJunctionTableLinks(entity, departmentIdMapping, officeLocationIdMapping, groupIdMapping, roleIdMapping);
+            }
+            
+            log.info("Successfully ingested batch of {} entities with {} shared entity upserts", 
+                entities.size(), batch.getUniqueEntityCount());
+            
+        } catch (Exception e) {
+            log.error("Error ingesting batch of {} entities - Error: {}", entities.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to ingest batch of " + entities.size() + " entities", e);
+        }
+    }
+    
     /**
      * Upsert tenant entity
      */
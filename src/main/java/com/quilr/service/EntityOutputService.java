@@ -2,6 +2,8 @@ package com.quilr.service;
 
 import com.quilr.dto.TransformedEntity;
 
+import java.util.List;
+
 /**
  * Service interface for handling transformed entity output.
  * Provides abstraction for different output modes: logging, Kafka, database, REST API.
@@ -11,6 +13,12 @@ import com.quilr.dto.TransformedEntity;
  */
 public interface EntityOutputService {
     
+    /**
+     * An entity of a batch that could not be output
+     */
+    record OutputFailure(TransformedEntity entity, Exception error) {
+    }
+    
     /**
      * Handle the transformed entity output.
      * Implementation depends on configured output mode.
@@ -18,4 +26,13 @@ public interface EntityOutputService {
      * @param entity Transformed entity to output
      */
     void handleTransformedEntity(TransformedEntity entity);
+    
+    /**
+     * Handle the transformed entities of a consumer batch at once, so that entities shared
+     * by the records can be written once. Failures are reported per entity.
+     * 
+     * @param entities Transformed entities in record order
+     * @return Entities that could not be output, in record order; empty if all were
+     */
+    List<OutputFailure> handleTransformedEntities(List<TransformedEntity> entities);
 }
@@ -6,6 +6,9 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Implementation of EntityOutputService.
  * Handles transformed entity output based on configured mode.
@@ -71,6 +74,38 @@ public class EntityOutputServiceImpl implements EntityOutputService {
         }
     }
     
+    @Override
+    public List<OutputFailure> handleTransformedEntities(List<TransformedEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return List.of();
+        }
+        
+        if ("DATABASE".equalsIgnoreCase(outputMode)) {
+            try {
+                ingestionService.ingestBatch(entities);
+                log.info("Successfully ingested batch to database - Entities: {}", entities.size());
+                return List.of();
+            } catch (Exception e) {
+                // The batch transaction was rolled back; ingest record by record so that one bad
+                // record does not fail the others
+                log.warn("Batch ingestion of {} entities failed, falling back to per-entity ingestion: {}", 
+                    entities.size(), e.getMessage());
+            }
+        }
+        
+        List<OutputFailure> failures = new ArrayList<>();
+        for (TransformedEntity entity : entities) {
+            try {
+                handleTransformedEntity(entity);
+            } catch (Exception e) {
+                log.error("Error handling transformed entity in batch - EntityId: {}, Error: {}", 
+                    entity.getEntityId(), e.getMessage());
+                failures.add(new OutputFailure(entity, e));
+            }
+        }
+        return failures;
+    }
+    
     /**
      * Handle LOG output mode - log entity as JSON
      */
@@ -3,6 +3,8 @@ package com.quilr.service;
 import com.quilr.dto.RawEntityMessage;
 import com.quilr.dto.TransformedEntity;
 
+import java.util.function.Consumer;
+
 /**
  * Service interface for processing entity messages.
  * Orchestrates the transformation pipeline: parse → route → transform.
@@ -24,4 +26,16 @@ public interface EntityProcessingService {
      * @throws IllegalArgumentException if message is invalid or vendor not supported
      */
     TransformedEntity processEntity(RawEntityMessage message);
+    
+    /**
+     * Process a raw entity message, emitting parts of very large records to partSink before
+     * the returned entity (see EntityTransformer#transformUsers).
+     * 
+     * @param message Raw entity message from Kafka
+     * @param partSink Receiver of partial results, or null to process in one piece
+     * @return Transformed entity (the last part when streamed)
+     */
+    default TransformedEntity processEntity(RawEntityMessage message, Consumer<TransformedEntity> partSink) {
+        return processEntity(message);
+    }
 }
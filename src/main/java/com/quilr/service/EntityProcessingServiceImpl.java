@@ -8,6 +8,8 @@ import com.quilr.transformer.factory.FabricTransformerFactory;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Consumer;
+
 /**
  * Implementation of EntityProcessingService.
  * Orchestrates the transformation pipeline using FabricTransformerFactory.
@@ -24,6 +26,11 @@ public class EntityProcessingServiceImpl implements EntityProcessingService {
     
     @Override
     public TransformedEntity processEntity(RawEntityMessage message) {
+        return processEntity(message, null);
+    }
+    
+    @Override
+    public TransformedEntity processEntity(RawEntityMessage message, Consumer<TransformedEntity> partSink) {
         if (message == null) {
             throw new IllegalArgumentException("RawEntityMessage cannot be null");
         }
@@ -38,7 +45,7 @@ public class EntityProcessingServiceImpl implements EntityProcessingService {
             FabricTransformer transformer = transformerFactory.getTransformer(vendorType);
             
             // Transform the message
-            TransformedEntity result = transformer.transform(message);
+            TransformedEntity result = transformer.transform(message, partSink);
             
             log.info("Successfully processed entity - Vendor: {}, Type: {}, EntityId: {}", 
                 message.getVendor(), message.getType(), result.getEntityId());
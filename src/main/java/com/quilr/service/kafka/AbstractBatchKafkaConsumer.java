@@ -8,8 +8,6 @@ import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.CreatePartitionsResult;
 import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.consumer.*;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
@@ -20,10 +18,11 @@ import org.springframework.retry.support.RetryTemplate;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 @Log4j2
 public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boolean>, BatchSuperConsumer<K, V> {
 
@@ -34,13 +33,68 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
     protected final AtomicBoolean running = new AtomicBoolean(true);
     private int maxRetries;
     private long retryBackoffMs;
-    private KafkaProducer<K, V> dlqProducer;
-    private final boolean dlqEnabled = false;
-    private String dlqTopic = "quilr_entities_dlp";
-    private String dlqProducerAcks = "all";
-    private String dlqProducerRetries = "3";
-    private String dlqProducerLingerMs = "1000";
+    private boolean dlqEnabled;
     private String sourceTopic;
+    private boolean pipelined;
+    private int pipelineQueueBatches;
+    private Map<TopicPartition, Long> rewindRequest;
+    private final AtomicLong commitSequence = new AtomicLong();
+    private final AtomicLong committedSequence = new AtomicLong();
+
+    /**
+     * Pipelined mode state; the hand-off queue, pending batch and offsets are used on the poll
+     * thread, except that the processing thread takes batches from the hand-off queue and
+     * reports them in completed. The processing thread holds processing while it works on a
+     * batch, so that a rebalance can wait for it.
+     */
+    private BlockingQueue<PolledBatch<K, V>> handOff;
+    private final BlockingQueue<CompletedBatch> completed = new LinkedBlockingQueue<>();
+    private final Map<TopicPartition, OffsetAndMetadata> latest = new HashMap<>();
+    private final Map<TopicPartition, OffsetAndMetadata> uncommitted = new HashMap<>();
+    private PolledBatch<K, V> pending;
+    private final ReentrantLock processing = new ReentrantLock(true);
+
+    /**
+     * Batch fetched by the poll thread, with the offsets to commit once it is processed
+     */
+    private record PolledBatch<K, V>(List<ConsumerRecord<K, V>> records,
+                                     Map<TopicPartition, OffsetAndMetadata> offsets) {
+
+        PolledBatch<K, V> merge(PolledBatch<K, V> later) {
+            List<ConsumerRecord<K, V>> mergedRecords = new ArrayList<>(records);
+            mergedRecords.addAll(later.records());
+            Map<TopicPartition, OffsetAndMetadata> mergedOffsets = new HashMap<>(offsets);
+            mergedOffsets.putAll(later.offsets());
+            return new PolledBatch<>(mergedRecords, mergedOffsets);
+        }
+
+        PolledBatch<K, V> without(Collection<TopicPartition> partitions) {
+            List<ConsumerRecord<K, V>> keptRecords = new ArrayList<>(records.size());
+            for (ConsumerRecord<K, V> record : records) {
+                if (!partitions.contains(new TopicPartition(record.topic(), record.partition()))) {
+                    keptRecords.add(record);
+                }
+            }
+            Map<TopicPartition, OffsetAndMetadata> keptOffsets = new HashMap<>(offsets);
+            keptOffsets.keySet().removeAll(partitions);
+            return new PolledBatch<>(keptRecords, keptOffsets);
+        }
+    }
+
+    /**
+     * Batch completed by the processing thread; a rewind is applied by the poll thread, which
+     * counts down applied when done
+     */
+    private record CompletedBatch(Map<TopicPartition, OffsetAndMetadata> offsets,
+                                  Map<TopicPartition, Long> rewind,
+                                  CountDownLatch applied) {
+    }
+
+    /**
+     * Settings of this consumer passed with the consumer properties; not Kafka client configs
+     */
+    private static final Set<String> CONSUMER_SETTINGS = Set.of(
+        "maxRetries", "retryBackoffMs", "pipelined", "pipelineQueueBatches", "dlqEnabled");
 
     final List<ConsumerRecord<K, V>> allPartitionRecords = new ArrayList<>();
     Map<TopicPartition, OffsetAndMetadata> offsetsToCommit = new HashMap<>();
@@ -54,6 +108,9 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
         this.sourceTopic = kafkaProps.getProperty(KafkaConstants.TOPICS);
         this.maxRetries = StringUtils.isNotEmpty(kafkaProps.getProperty("maxRetries")) ? Integer.parseInt(kafkaProps.getProperty("maxRetries").trim()):3;
         this.retryBackoffMs = StringUtils.isNotEmpty(kafkaProps.getProperty("retryBackoffMs")) ? Integer.parseInt(kafkaProps.getProperty("retryBackoffMs").trim()):30000;
+        this.pipelined = StringUtils.isNotEmpty(kafkaProps.getProperty("pipelined")) && Boolean.parseBoolean(kafkaProps.getProperty("pipelined").trim());
+        this.pipelineQueueBatches = StringUtils.isNotEmpty(kafkaProps.getProperty("pipelineQueueBatches")) ? Math.max(1, Integer.parseInt(kafkaProps.getProperty("pipelineQueueBatches").trim())):2;
+        this.dlqEnabled = StringUtils.isNotEmpty(kafkaProps.getProperty("dlqEnabled")) && Boolean.parseBoolean(kafkaProps.getProperty("dlqEnabled").trim());
 
         log.info("Properties are....");
     }
@@ -72,10 +129,6 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
 
         }catch (Exception e){
             log.error("[CID:{}] Error shutting down consumer: {}",this.threadId, e.getMessage(), e);
-        }finally {
-            if (dlqProducer != null) {
-                dlqProducer.close();
-            }
         }
 
     }
@@ -87,8 +140,30 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
 
             });
 
-            consumer = new KafkaConsumer<>(consumerProps);
-            consumer.subscribe(Collections.singletonList(this.sourceTopic ));
+            // Kafka warns about every config it does not know
+            Properties kafkaProps = new Properties();
+            consumerProps.forEach((key, value) -> {
+                if (!CONSUMER_SETTINGS.contains(String.valueOf(key))) {
+                    kafkaProps.put(key, value);
+                }
+            });
+            consumer = new KafkaConsumer<>(kafkaProps);
+            consumer.subscribe(Collections.singletonList(this.sourceTopic ), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    if (!partitions.isEmpty()) {
+                        revokePartitions(partitions);
+                    }
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    // The hand-off queue is full or the consumer is backed up; do not fetch for new partitions either
+                    if (((pipelined && pending != null) || isBackedUp()) && !partitions.isEmpty()) {
+                        consumer.pause(partitions);
+                    }
+                }
+            });
             Map<String, List<PartitionInfo>> topicsList = consumer.listTopics(Duration.ofSeconds(5));
             if (topicsList.size() > 0){
                 log.info("[[CID:{}] topics:{}] Consumer intialised...",this.threadId, this.sourceTopic);
@@ -197,10 +272,17 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
      * - Ensures proper shutdown of the Kafka consumer even if exceptions occur.
      */
     protected void consumeAndProcess() {
+        if (pipelined) {
+            consumeAndProcessPipelined();
+            return;
+        }
         log.info("[CID:{}] Starting to consume messages from topic: {}",this.threadId, this.sourceTopic );
         initializeWithRetry();
+        boolean paused = false;
         try {
             while (running.get() && !Thread.currentThread().isInterrupted()) {
+                // While backed up, polls return nothing and the idle processing drains the retries
+                paused = pauseWhile(isBackedUp(), paused, "Backed up");
                 ConsumerRecords<K, V> records = consumer.poll(Duration.ofMillis(100));
                 if (!records.isEmpty()) {
                     log.info("[CID:{}] Received a batch of {} messages",this.threadId, records.count());
@@ -235,12 +317,33 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
                                     Thread.currentThread().interrupt(); // Re-interrupt
                                 }
                             } else {
-                                log.error("[CID:{}] Max retries reached for batch. Skipping commit.",this.threadId);
-                                // Consider error handling for the entire batch (e.g., send to DLQ)
+                                if (dlqEnabled) {
+                                    log.error("[CID:{}] Max retries reached for batch. Sending {} records to the DLQ.",this.threadId, allPartitionRecords.size());
+                                    if (sendToDlqNative(allPartitionRecords, offsetsToCommit)) {
+                                        commitProcessedOffsets(offsetsToCommit);
+                                        batchProcessed = true;
+                                        allPartitionRecords.clear();
+                                    } else {
+                                        log.error("[CID:{}] Could not write the batch to the DLQ. Skipping commit.",this.threadId);
+                                    }
+                                } else {
+                                    log.error("[CID:{}] Max retries reached for batch. Skipping commit.",this.threadId);
+                                }
                                 break; // Exit retry loop
                             }
                         }
                     }
+                    if (!batchProcessed) {
+                        // Nothing of the batch was committed; poll it again rather than let the next batch pass it
+                        rewindTo(firstOffsets(allPartitionRecords));
+                        allPartitionRecords.clear();
+                        offsetsToCommit.clear();
+                    }
+                } else {
+                    Map<TopicPartition, OffsetAndMetadata> released = processIdle();
+                    if (!released.isEmpty()) {
+                        commitProcessedOffsets(new HashMap<>(released));
+                    }
                 }
             }
             log.warn("[CID:{}] Consumer thread interrupted: {}, Shutting down... status:{}",this.threadId, running.get(), Thread.currentThread().isInterrupted() );
@@ -268,30 +371,403 @@ public abstract class AbstractBatchKafkaConsumer<K, V> implements Callable<Boole
         }
     }
 
-    public void initializeDlqProducer() {
-        Properties props = new Properties();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, props.getProperty("bootstrap.servers"));
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,  props.getProperty ("key.serializer"));
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, props.getProperty ( "value.serializer"));
-        props.put(ProducerConfig.ACKS_CONFIG, dlqProducerAcks);
-        props.put(ProducerConfig.RETRIES_CONFIG, dlqProducerRetries);
-        props.put(ProducerConfig.LINGER_MS_CONFIG, dlqProducerLingerMs);
-        this.dlqProducer = new KafkaProducer<K,V>(props);
+    /**
+     * Pipelined variant of consumeAndProcess, enabled with the "pipelined" consumer property.
+     *
+     * The poll thread keeps fetching into a bounded hand-off queue ("pipelineQueueBatches",
+     * default 2) while a processing thread works through the previous batches, so fetching,
+     * processing and committing overlap. When the queue is full the assigned partitions are
+     * paused, and polling continues to keep the group membership alive, until there is room
+     * again; likewise while the consumer is backed up (see isBackedUp), when the processing
+     * thread only runs the idle processing. The processing thread completes batches in order;
+     * the poll thread merges their offsets and commits them with commitAsync. The offsets of a
+     * failed async commit are committed again with the next one, and the last offsets are
+     * committed synchronously on shutdown.
+     *
+     * The KafkaConsumer is only used on the poll thread: rewinds requested while processing a
+     * batch (see rewindTo) are applied there, together with the batches fetched ahead. When
+     * partitions are revoked, the poll thread waits for the batch in progress, commits what has
+     * been processed of the revoked partitions and drops their records fetched ahead.
+     */
+    protected void consumeAndProcessPipelined() {
+        log.info("[CID:{}] Starting to consume messages from topic: {} (pipelined, {} batches ahead)",
+            this.threadId, this.sourceTopic, pipelineQueueBatches);
+        initializeWithRetry();
+
+        handOff = new ArrayBlockingQueue<>(pipelineQueueBatches);
+        Thread processor = new Thread(this::processHandOff, "kafka-processor-" + this.threadId);
+        processor.start();
+
+        boolean paused = false;
+        try {
+            while (running.get() && !Thread.currentThread().isInterrupted() && processor.isAlive()) {
+                applyCompletions();
+                commitAsync();
+
+                if (pending != null && handOff.offer(pending)) {
+                    pending = null;
+                }
+                boolean backedUp = isBackedUp();
+                paused = pauseWhile(pending != null || backedUp, paused, backedUp ? "Backed up" : "Hand-off queue full");
+
+                ConsumerRecords<K, V> records = consumer.poll(Duration.ofMillis(100));
+                if (!records.isEmpty()) {
+                    log.info("[CID:{}] Received a batch of {} messages", this.threadId, records.count());
+                    PolledBatch<K, V> batch = toBatch(records);
+                    pending = pending == null ? batch : pending.merge(batch);
+                    if (handOff.offer(pending)) {
+                        pending = null;
+                    }
+                }
+            }
+            log.warn("[CID:{}] Pipelined consumer stopping: running: {}, processor alive: {}", this.threadId, running.get(), processor.isAlive());
+        } catch (WakeupException e) {
+            if (running.get()) {
+                log.info("Consumer woken up.");
+            }
+        } catch (Exception e) {
+            log.error("Error while consuming messages from topic: {}", this.sourceTopic, e);
+        } finally {
+            running.set(false);
+            try {
+                // Let the batch in progress finish; batches still queued are polled again after restart
+                processor.join(TimeUnit.SECONDS.toMillis(30));
+                if (processor.isAlive()) {
+                    processor.interrupt();
+                    processor.join(TimeUnit.SECONDS.toMillis(5));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handOff.clear();
+            pending = null;
+            applyCompletions();
+            if (!latest.isEmpty()) {
+                commitProcessedOffsets(new HashMap<>(latest));
+            }
+            if (consumer != null) {
+                consumer.close();
+                log.info("[CID:{}] Consumer closed.", this.threadId);
+            }
+        }
+    }
+
+    /**
+     * Processing thread of the pipelined mode: processes batches in hand-off order and publishes
+     * their offsets in the same order
+     */
+    private void processHandOff() {
+        try {
+            while (running.get()) {
+                CompletedBatch done = null;
+                processing.lockInterruptibly();
+                try {
+                    PolledBatch<K, V> batch = null;
+                    if (isBackedUp()) {
+                        // Only retries run until they drain; the poll thread has paused the partitions
+                        TimeUnit.MILLISECONDS.sleep(100);
+                    } else {
+                        batch = handOff.poll(100, TimeUnit.MILLISECONDS);
+                    }
+                    if (batch == null) {
+                        Map<TopicPartition, OffsetAndMetadata> released = processIdle();
+                        if (!released.isEmpty()) {
+                            completed.add(new CompletedBatch(released, null, new CountDownLatch(0)));
+                        }
+                    } else {
+                        rewindRequest = null;
+                        Map<TopicPartition, Long> firstOffsets = firstOffsets(batch.records());
+                        boolean processed = processWithRetries(batch);
+                        if (!processed && running.get()) {
+                            // Later batches must not commit past it; poll it again from its first records
+                            rewindTo(firstOffsets);
+                        }
+                        done = new CompletedBatch(processed ? batch.offsets() : Map.of(), rewindRequest, new CountDownLatch(1));
+                        completed.add(done);
+                    }
+                } finally {
+                    processing.unlock();
+                }
+                if (done != null && done.rewind() != null) {
+                    // Batches fetched ahead are discarded by the poll thread; wait before taking the next one
+                    while (running.get() && !done.applied().await(100, TimeUnit.MILLISECONDS)) {
+                        // waiting for the poll thread
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[CID:{}] Processing thread failed: {}", this.threadId, e.getMessage(), e);
+        }
+    }
+
+    private boolean processWithRetries(PolledBatch<K, V> batch) {
+        int retryCount = 0;
+        while (running.get()) {
+            try {
+                boolean processed = processBatchOfRecords(batch.records(), batch.offsets());
+                if (!processed) {
+                    log.error("[CID:{}] Batch was not processed. Skipping commit.", this.threadId);
+                }
+                return processed;
+            } catch (Exception e) {
+                log.error("[CID:{}] Error processing batch (attempt {}): {}", this.threadId, retryCount + 1, e.getMessage(), e);
+                retryCount++;
+                if (retryCount > maxRetries) {
+                    if (dlqEnabled) {
+                        // The batch is preserved in the DLQ, so its offsets can be committed
+                        log.error("[CID:{}] Max retries reached for batch. Sending {} records to the DLQ.", this.threadId, batch.records().size());
+                        if (sendToDlqNative(batch.records(), batch.offsets())) {
+                            return true;
+                        }
+                        log.error("[CID:{}] Could not write the batch to the DLQ. Skipping commit.", this.threadId);
+                        return false;
+                    }
+                    log.error("[CID:{}] Max retries reached for batch. Skipping commit.", this.threadId);
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merge the offsets of completed batches and apply their rewinds, which discard the pending
+     * batch and the batches fetched ahead; runs on the poll thread
+     */
+    private void applyCompletions() {
+        CompletedBatch done;
+        while ((done = completed.poll()) != null) {
+            done.offsets().forEach((partition, offset) -> {
+                latest.put(partition, offset);
+                uncommitted.put(partition, offset);
+            });
+            if (done.rewind() != null) {
+                // Batches fetched ahead start after the rewound records; fetch them again in order
+                Map<TopicPartition, Long> seeks = new HashMap<>(done.rewind());
+                List<PolledBatch<K, V>> discarded = new ArrayList<>();
+                handOff.drainTo(discarded);
+                if (pending != null) {
+                    discarded.add(pending);
+                    pending = null;
+                }
+                for (PolledBatch<K, V> batch : discarded) {
+                    for (ConsumerRecord<K, V> record : batch.records()) {
+                        seeks.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::min);
+                    }
+                }
+                try {
+                    seeks.forEach((partition, offset) -> consumer.seek(partition, offset));
+                    log.warn("[CID:{}] Rewound {} partitions, discarding {} batches fetched ahead", this.threadId, seeks.size(), discarded.size());
+                } catch (Exception e) {
+                    log.error("[CID:{}] Error rewinding partitions {}: {}", this.threadId, seeks.keySet(), e.getMessage());
+                }
+                done.applied().countDown();
+            }
+        }
+    }
+
+    /**
+     * Rebalance listener callback, on the poll thread. In pipelined mode it waits for the batch
+     * in progress, commits the offsets processed for the revoked partitions and drops their
+     * records fetched ahead; the new owner polls them from the committed offsets.
+     */
+    private void revokePartitions(Collection<TopicPartition> partitions) {
+        if (!pipelined) {
+            partitionsRevoked(partitions);
+            return;
+        }
+        processing.lock();
+        try {
+            applyCompletions();
+            List<PolledBatch<K, V>> queued = new ArrayList<>();
+            handOff.drainTo(queued);
+            for (PolledBatch<K, V> batch : queued) {
+                PolledBatch<K, V> kept = batch.without(partitions);
+                if (!kept.records().isEmpty()) {
+                    handOff.add(kept);
+                }
+            }
+            if (pending != null) {
+                pending = pending.without(partitions);
+                if (pending.records().isEmpty()) {
+                    pending = null;
+                }
+            }
+
+            Map<TopicPartition, OffsetAndMetadata> revoked = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                uncommitted.remove(partition);
+                OffsetAndMetadata offset = latest.remove(partition);
+                if (offset != null) {
+                    revoked.put(partition, offset);
+                }
+            }
+            if (!revoked.isEmpty()) {
+                commitProcessedOffsets(revoked);
+            }
+            partitionsRevoked(partitions);
+            log.info("[CID:{}] Partitions revoked: {}", this.threadId, partitions);
+        } finally {
+            processing.unlock();
+        }
+    }
+
+    /**
+     * Called on the poll thread when partitions are revoked, with no batch in progress. Their
+     * records are polled again by their new owner from the committed offsets, so state kept for
+     * them (e.g. retries) must be dropped.
+     */
+    protected void partitionsRevoked(Collection<TopicPartition> partitions) {
+    }
+
+    /**
+     * Commit the offsets completed since the last commit without waiting for the broker
+     */
+    private void commitAsync() {
+        if (uncommitted.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>(uncommitted);
+        uncommitted.clear();
+        long sequence = commitSequence.incrementAndGet();
+        consumer.commitAsync(offsets, (committed, exception) -> {
+            if (exception == null) {
+                committedSequence.accumulateAndGet(sequence, Math::max);
+                log.debug("[CID:{}] Committed offsets for {} partitions (commit {})", this.threadId, committed.size(), sequence);
+            } else if (committedSequence.get() > sequence) {
+                log.debug("[CID:{}] Commit {} failed but a later commit succeeded: {}", this.threadId, sequence, exception.getMessage());
+            } else {
+                // Runs on the poll thread; commit the offsets again with the next commit, unless
+                // completions since have moved them on
+                offsets.forEach((partition, offset) -> {
+                    if (latest.containsKey(partition)) {
+                        uncommitted.merge(partition, offset, (current, failed) -> current.offset() >= failed.offset() ? current : failed);
+                    }
+                });
+                log.warn("[CID:{}] Async commit {} failed; its offsets are committed again with the next commit: {}", this.threadId, sequence, exception.getMessage());
+            }
+        });
+    }
+
+    private PolledBatch<K, V> toBatch(ConsumerRecords<K, V> records) {
+        List<ConsumerRecord<K, V>> batchRecords = new ArrayList<>(records.count());
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<K, V>> partitionRecords = records.records(partition);
+            batchRecords.addAll(partitionRecords);
+            if (!partitionRecords.isEmpty()) {
+                offsets.put(partition, new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+            }
+        }
+        return new PolledBatch<>(batchRecords, offsets);
+    }
+
+    /**
+     * Offset of the first record per partition
+     */
+    private static <K, V> Map<TopicPartition, Long> firstOffsets(List<ConsumerRecord<K, V>> records) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (ConsumerRecord<K, V> record : records) {
+            offsets.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::min);
+        }
+        return offsets;
+    }
+
+    /**
+     * Pause the assignment while a condition holds, on every pass so that partitions assigned
+     * meanwhile are paused too, and resume it once it no longer does
+     *
+     * @return Whether the partitions are paused
+     */
+    private boolean pauseWhile(boolean pause, boolean paused, String reason) {
+        if (pause) {
+            consumer.pause(consumer.assignment());
+            if (!paused) {
+                log.debug("[CID:{}] {}, paused {} partitions", this.threadId, reason, consumer.paused().size());
+            }
+            return true;
+        }
+        if (paused) {
+            consumer.resume(consumer.paused());
+            log.debug("[CID:{}] Resumed partitions", this.threadId);
+        }
+        return false;
+    }
+
+    /**
+     * Whether the consumer should stop taking new records for now, e.g. while records waiting
+     * for a retry have reached their limit. The partitions are then paused and only the idle
+     * processing (see processIdle) runs until this returns false; called on both threads.
+     */
+    protected boolean isBackedUp() {
+        return false;
+    }
+
+    /**
+     * Called on the processing thread when a poll returned no records, e.g. to retry failed
+     * records that are due
+     *
+     * @return Offsets that became committable since the last batch
+     */
+    protected Map<TopicPartition, OffsetAndMetadata> processIdle() {
+        return Map.of();
+    }
+
+    /**
+     * Seek partitions back so that their records from the given offsets are polled again.
+     * In pipelined mode the seek is applied by the poll thread once the current batch completes.
+     */
+    protected void rewindTo(Map<TopicPartition, Long> offsets) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        if (pipelined) {
+            if (rewindRequest == null) {
+                rewindRequest = new HashMap<>();
+            }
+            offsets.forEach((partition, offset) -> rewindRequest.merge(partition, offset, Math::min));
+            return;
+        }
+        try {
+            offsets.forEach((partition, offset) -> {
+                consumer.seek(partition, offset);
+                log.warn("[CID:{}] Rewound partition {} to unprocessed offset {}", this.threadId, partition, offset);
+            });
+        } catch (Exception e) {
+            log.error("[CID:{}] Error rewinding partitions {}: {}", this.threadId, offsets.keySet(), e.getMessage());
+        }
+    }
+
+    /**
+     * Whether batches are processed off the poll thread; offsets are then committed by the
+     * poll loop, not by processBatchOfRecords
+     */
+    public boolean isPipelined() {
+        return pipelined;
     }
 
-    protected abstract void sendToDlqNative(List<ConsumerRecord<String, String>> records, Map<TopicPartition, OffsetAndMetadata> offsetsToCommit);
+    /**
+     * Dead-letter the records of a batch that failed after all its retries
+     *
+     * @param offsetsToCommit Offsets of the batch; may be replaced by the ones to commit
+     * @return true if all records were written; only then are the offsets committed, otherwise
+     *         the batch is polled again
+     */
+    protected abstract boolean sendToDlqNative(List<ConsumerRecord<K, V>> records, Map<TopicPartition, OffsetAndMetadata> offsetsToCommit);
     @Override
     public void handleError(Exception e) {
         log.error("[CID:{}] Error in consumer: {}",this.threadId, e.getMessage(), e);
         // Implement specific error handling logic at the abstract level if needed
     }
 
-    public String getDlqTopic() {
-        return dlqTopic;
-    }
-
-    public KafkaProducer<K, V> getDlqProducer() {
-        return dlqProducer;
+    public int getMaxRetries() {
+        return maxRetries;
     }
 
     public boolean isDlqEnabled() {
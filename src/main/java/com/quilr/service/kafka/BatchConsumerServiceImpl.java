@@ -1,35 +1,75 @@
 package com.quilr.service.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Runs the batch Kafka consumers, one thread each.
+ *
+ * quilr.consumer.threads bounds the consumer threads; 0 starts a thread per consumer. Consumers
+ * beyond a configured bound wait in the queue until a running one stops, which is logged.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>quilr.consumer.threads: consumer threads of the pool</li>
+ *   <li>quilr.consumer.active: consumers running</li>
+ *   <li>quilr.consumer.queued: consumers waiting for a thread</li>
+ * </ul>
+ */
 @Service
 @Log4j2
 public class BatchConsumerServiceImpl implements BatchConsumerService {
 
-    private ExecutorService executorService;
+    private ThreadPoolExecutor executorService;
     private List<Future<?>> consumerFutures = new ArrayList<>();
     private List<AbstractBatchKafkaConsumer> allConsumers = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Maximum consumer threads; 0 for one per started consumer
+     */
+    @Value("${quilr.consumer.threads:0}")
+    private int consumerThreads;
+
+    public BatchConsumerServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @PostConstruct
     public void initialise() {
-        this.executorService = Executors.newSingleThreadExecutor();
-        executorService = Executors.newFixedThreadPool(2); // should updated based on the db configs
+        AtomicInteger index = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> new Thread(runnable, "kafka-consumer-" + index.getAndIncrement());
+        executorService = consumerThreads > 0
+            ? new ThreadPoolExecutor(consumerThreads, consumerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory)
+            : new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+
+        meterRegistry.gauge("quilr.consumer.threads", executorService, ThreadPoolExecutor::getPoolSize);
+        meterRegistry.gauge("quilr.consumer.active", executorService, ThreadPoolExecutor::getActiveCount);
+        meterRegistry.gauge("quilr.consumer.queued", executorService, pool -> pool.getQueue().size());
+        log.info("Batch consumer executor initialised with {} threads",
+            consumerThreads > 0 ? consumerThreads : "one per consumer");
     }
+
     @Override
     public void startConsumer(AbstractBatchKafkaConsumer consumer) {
         try{
             log.info("[CID:{}] Starting Native Kafka Consumer thread {}...",consumer.getThreadId(), consumerFutures.size());
+            if (consumerThreads > 0 && allConsumers.size() >= consumerThreads) {
+                log.warn("[CID:{}] All {} consumer threads are busy; consumer waits until one stops (quilr.consumer.threads)",
+                    consumer.getThreadId(), consumerThreads);
+            }
             Future<?> future = executorService.submit(consumer);
             allConsumers.add(consumer);
             consumerFutures.add(future);
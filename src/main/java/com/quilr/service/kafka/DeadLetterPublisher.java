@@ -0,0 +1,279 @@
+package com.quilr.service.kafka;
+
+import com.quilr.mapping.MappingPlanRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang.StringUtils;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Publishes records that cannot be processed to the dead-letter topic, and replays them.
+ *
+ * All consumers share one idempotent producer with batching and compression. Dead-lettered
+ * records keep their key, value and headers and get headers classifying the failure:
+ * <ul>
+ *   <li>quilr.dlq.stage: stage that failed (parse, validation, transform, output, batch)</li>
+ *   <li>quilr.dlq.exception / quilr.dlq.message: root cause of the failure</li>
+ *   <li>quilr.dlq.attempts: attempts made</li>
+ *   <li>quilr.dlq.mapping.version: field mapping snapshot version at the time of the failure</li>
+ *   <li>quilr.dlq.source.topic / .partition / .offset, quilr.dlq.failed.at</li>
+ * </ul>
+ * The cluster is the one of the consumers (see configure) unless quilr.dlq.bootstrap-servers
+ * is set.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>quilr.dlq.records{stage, result}: records dead-lettered (sent or failed) per stage</li>
+ * </ul>
+ */
+@Component
+@Log4j2
+public class DeadLetterPublisher {
+
+    public enum Stage {
+        PARSE, VALIDATION, TRANSFORM, OUTPUT, BATCH
+    }
+
+    public static final String HEADER_PREFIX = "quilr.dlq.";
+    public static final String HEADER_STAGE = HEADER_PREFIX + "stage";
+    public static final String HEADER_EXCEPTION = HEADER_PREFIX + "exception";
+    public static final String HEADER_MESSAGE = HEADER_PREFIX + "message";
+    public static final String HEADER_ATTEMPTS = HEADER_PREFIX + "attempts";
+    public static final String HEADER_MAPPING_VERSION = HEADER_PREFIX + "mapping.version";
+    public static final String HEADER_SOURCE_TOPIC = HEADER_PREFIX + "source.topic";
+    public static final String HEADER_SOURCE_PARTITION = HEADER_PREFIX + "source.partition";
+    public static final String HEADER_SOURCE_OFFSET = HEADER_PREFIX + "source.offset";
+    public static final String HEADER_FAILED_AT = HEADER_PREFIX + "failed.at";
+    public static final String HEADER_REPLAYED_FROM = "quilr.replayed.from.offset";
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Value("${quilr.dlq.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quilr.dlq.topic:quilr_entities_dlp}")
+    private String topic;
+
+    @Value("${quilr.dlq.bootstrap-servers:}")
+    private String bootstrapServers;
+
+    @Value("${quilr.dlq.producer.linger-ms:50}")
+    private int lingerMs;
+
+    @Value("${quilr.dlq.producer.batch-size:65536}")
+    private int batchSize;
+
+    /**
+     * none, gzip, snappy, lz4 or zstd
+     */
+    @Value("${quilr.dlq.producer.compression:lz4}")
+    private String compression;
+
+    private final MappingPlanRegistry mappingRegistry;
+    private final Map<Stage, Counter> sentCounters = new EnumMap<>(Stage.class);
+    private final Map<Stage, Counter> failedCounters = new EnumMap<>(Stage.class);
+    private volatile Properties clusterProps;
+    private volatile KafkaProducer<String, String> producer;
+
+    public DeadLetterPublisher(MappingPlanRegistry mappingRegistry, MeterRegistry meterRegistry) {
+        this.mappingRegistry = mappingRegistry;
+        for (Stage stage : Stage.values()) {
+            sentCounters.put(stage, Counter.builder("quilr.dlq.records")
+                .tag("stage", stage.name().toLowerCase())
+                .tag("result", "sent")
+                .description("Records written to the dead-letter topic")
+                .register(meterRegistry));
+            failedCounters.put(stage, Counter.builder("quilr.dlq.records")
+                .tag("stage", stage.name().toLowerCase())
+                .tag("result", "failed")
+                .description("Records that could not be written to the dead-letter topic")
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Take the cluster connection (bootstrap servers and security settings) from the consumer
+     * properties; the first consumer to call this wins
+     */
+    public void configure(Properties consumerProps) {
+        if (clusterProps != null) {
+            return;
+        }
+        synchronized (this) {
+            if (clusterProps == null) {
+                Properties props = new Properties();
+                consumerProps.forEach((key, value) -> {
+                    String name = String.valueOf(key);
+                    if (name.startsWith("security.") || name.startsWith("sasl.") || name.startsWith("ssl.")) {
+                        props.put(name, value);
+                    }
+                });
+                props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, StringUtils.isNotBlank(bootstrapServers)
+                    ? bootstrapServers
+                    : String.valueOf(consumerProps.get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG)));
+                clusterProps = props;
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Connection settings of the dead-letter cluster, e.g. for a replay consumer
+     */
+    public Properties clusterProperties() {
+        Properties props = new Properties();
+        Properties current = clusterProps;
+        if (current != null) {
+            props.putAll(current);
+        } else if (StringUtils.isNotBlank(bootstrapServers)) {
+            props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        } else {
+            throw new IllegalStateException("Dead-letter cluster is not configured yet; no consumer has started");
+        }
+        return props;
+    }
+
+    /**
+     * Dead-letter a record asynchronously; a failure to send is logged and counted
+     *
+     * @param attempts Attempts made to process the record
+     * @return Completes when the record has been written, or fails
+     */
+    public Future<RecordMetadata> publish(ConsumerRecord<String, String> record, Stage stage, Throwable error, int attempts) {
+        ProducerRecord<String, String> dead = new ProducerRecord<>(topic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith(HEADER_PREFIX)) {
+                dead.headers().add(header);
+            }
+        }
+        Throwable cause = rootCause(error);
+        dead.headers()
+            .add(HEADER_STAGE, bytes(stage.name().toLowerCase()))
+            .add(HEADER_EXCEPTION, bytes(cause.getClass().getName()))
+            .add(HEADER_MESSAGE, bytes(StringUtils.abbreviate(String.valueOf(cause.getMessage()), MAX_MESSAGE_LENGTH)))
+            .add(HEADER_ATTEMPTS, bytes(String.valueOf(attempts)))
+            .add(HEADER_MAPPING_VERSION, bytes(mappingVersion()))
+            .add(HEADER_SOURCE_TOPIC, bytes(record.topic()))
+            .add(HEADER_SOURCE_PARTITION, bytes(String.valueOf(record.partition())))
+            .add(HEADER_SOURCE_OFFSET, bytes(String.valueOf(record.offset())))
+            .add(HEADER_FAILED_AT, bytes(Instant.now().toString()));
+
+        try {
+            return producer().send(dead, (metadata, exception) -> {
+                if (exception == null) {
+                    sentCounters.get(stage).increment();
+                    log.info("Dead-lettered record from {}-{} offset {} ({}) - Topic: {}, Offset: {}",
+                        record.topic(), record.partition(), record.offset(), stage, topic, metadata.offset());
+                } else {
+                    failedCounters.get(stage).increment();
+                    log.error("Failed to dead-letter record from {}-{} offset {}: {}",
+                        record.topic(), record.partition(), record.offset(), exception.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            failedCounters.get(stage).increment();
+            log.error("Failed to dead-letter record from {}-{} offset {}: {}",
+                record.topic(), record.partition(), record.offset(), e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Send a dead-lettered record back to its source topic, without the dead-letter headers
+     *
+     * @throws IllegalArgumentException if the record has no source topic header
+     */
+    public Future<RecordMetadata> replay(ConsumerRecord<String, String> deadRecord) {
+        Header source = deadRecord.headers().lastHeader(HEADER_SOURCE_TOPIC);
+        if (source == null) {
+            throw new IllegalArgumentException("Dead-letter record at offset " + deadRecord.offset() + " has no source topic");
+        }
+        ProducerRecord<String, String> replayed = new ProducerRecord<>(
+            new String(source.value(), StandardCharsets.UTF_8), deadRecord.key(), deadRecord.value());
+        for (Header header : deadRecord.headers()) {
+            if (!header.key().startsWith(HEADER_PREFIX) && !header.key().equals(HEADER_REPLAYED_FROM)) {
+                replayed.headers().add(header);
+            }
+        }
+        replayed.headers().add(HEADER_REPLAYED_FROM, bytes(String.valueOf(deadRecord.offset())));
+        return producer().send(replayed);
+    }
+
+    @PreDestroy
+    public void close() {
+        KafkaProducer<String, String> current = producer;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private KafkaProducer<String, String> producer() {
+        KafkaProducer<String, String> current = producer;
+        if (current == null) {
+            synchronized (this) {
+                current = producer;
+                if (current == null) {
+                    Properties props = clusterProperties();
+                    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+                    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+                    props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+                    props.put(ProducerConfig.ACKS_CONFIG, "all");
+                    props.put(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(lingerMs));
+                    props.put(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
+                    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+                    props.put(ProducerConfig.CLIENT_ID_CONFIG, "quilr-entities-dlq");
+                    current = new KafkaProducer<>(props);
+                    producer = current;
+                    log.info("Dead-letter producer created for topic {} ({} compression, linger {} ms)", topic, compression, lingerMs);
+                }
+            }
+        }
+        return current;
+    }
+
+    private String mappingVersion() {
+        try {
+            return String.valueOf(mappingRegistry.getSnapshot().getVersion());
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
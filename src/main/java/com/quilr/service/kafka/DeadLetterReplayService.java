@@ -0,0 +1,213 @@
+package com.quilr.service.kafka;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays dead-lettered records to their source topics at a bounded rate.
+ *
+ * The dead-letter topic is read with its own consumer group, so each record is replayed once;
+ * offsets are committed after the replayed records of a poll have been written. One replay runs
+ * at a time; it ends after the requested number of records, when the topic has been read to its
+ * end, or when stopped.
+ */
+@Service
+@Log4j2
+public class DeadLetterReplayService {
+
+    /**
+     * Consecutive empty polls after which the dead-letter topic is considered read to its end
+     */
+    private static final int EMPTY_POLLS_TO_FINISH = 5;
+
+    @Value("${quilr.dlq.replay.group-id:quilr-entities-dlq-replay}")
+    private String groupId;
+
+    private final DeadLetterPublisher publisher;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean stopRequested = new AtomicBoolean();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    public DeadLetterReplayService(DeadLetterPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Start replaying in the background
+     *
+     * @param maxRecords Records to replay at most
+     * @param ratePerSecond Records replayed per second at most
+     * @throws IllegalStateException if a replay is running
+     */
+    public Map<String, Object> start(int maxRecords, int ratePerSecond) {
+        if (maxRecords <= 0 || ratePerSecond <= 0) {
+            throw new IllegalArgumentException("maxRecords and ratePerSecond must be positive");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A dead-letter replay is already running");
+        }
+        stopRequested.set(false);
+        replayed.set(0);
+        failed.set(0);
+        lastError = null;
+        startedAt = Instant.now();
+        finishedAt = null;
+        executor.submit(() -> {
+            try {
+                replay(maxRecords, ratePerSecond);
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                log.error("Dead-letter replay failed: {}", e.getMessage(), e);
+            } finally {
+                finishedAt = Instant.now();
+                running.set(false);
+            }
+        });
+        log.info("Started dead-letter replay of up to {} records at {} records/s from {}",
+            maxRecords, ratePerSecond, publisher.getTopic());
+        return status();
+    }
+
+    /**
+     * Ask the running replay to stop after the record being replayed
+     */
+    public Map<String, Object> stop() {
+        if (running.get()) {
+            stopRequested.set(true);
+            log.info("Stopping dead-letter replay");
+        }
+        return status();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("topic", publisher.getTopic());
+        status.put("replayed", replayed.get());
+        status.put("failed", failed.get());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested.set(true);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void replay(int maxRecords, int ratePerSecond) throws Exception {
+        Properties props = publisher.clusterProperties();
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(500, maxRecords)));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long nextSendAt = System.nanoTime();
+        int emptyPolls = 0;
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
+            consumer.subscribe(List.of(publisher.getTopic()));
+            while (!stopRequested.get() && replayed.get() + failed.get() < maxRecords && emptyPolls < EMPTY_POLLS_TO_FINISH) {
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(1));
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                emptyPolls = 0;
+
+                // Records left over when the replay ends are not committed and are read again next time
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                Map<ConsumerRecord<String, String>, Future<RecordMetadata>> sends = new LinkedHashMap<>();
+                for (ConsumerRecord<String, String> record : records) {
+                    if (stopRequested.get() || replayed.get() + failed.get() + sends.size() >= maxRecords) {
+                        break;
+                    }
+                    // Pace the sends to the requested rate
+                    long wait = nextSendAt - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    nextSendAt = Math.max(nextSendAt, System.nanoTime() - intervalNanos) + intervalNanos;
+                    try {
+                        sends.put(record, publisher.replay(record));
+                    } catch (IllegalArgumentException e) {
+                        // Cannot be replayed at all; skip it
+                        failed.incrementAndGet();
+                        lastError = e.getMessage();
+                        log.warn("Skipping dead-letter record: {}", e.getMessage());
+                        offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+                    }
+                }
+
+                Set<TopicPartition> blocked = new HashSet<>();
+                for (Map.Entry<ConsumerRecord<String, String>, Future<RecordMetadata>> send : sends.entrySet()) {
+                    ConsumerRecord<String, String> record = send.getKey();
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    try {
+                        send.getValue().get();
+                        replayed.incrementAndGet();
+                        if (!blocked.contains(partition)) {
+                            offsets.merge(partition, new OffsetAndMetadata(record.offset() + 1),
+                                (current, next) -> current.offset() >= next.offset() ? current : next);
+                        }
+                    } catch (Exception e) {
+                        // Keep the record for the next replay and stop this one
+                        failed.incrementAndGet();
+                        lastError = e.getMessage();
+                        log.error("Failed to replay dead-letter record at offset {}: {}", record.offset(), e.getMessage());
+                        if (blocked.add(partition)) {
+                            offsets.put(partition, new OffsetAndMetadata(record.offset()));
+                        }
+                        stopRequested.set(true);
+                    }
+                }
+                if (!offsets.isEmpty()) {
+                    consumer.commitSync(offsets);
+                }
+            }
+        }
+        log.info("Dead-letter replay finished - Replayed: {}, Failed: {}", replayed.get(), failed.get());
+    }
+}
@@ -0,0 +1,114 @@
+package com.quilr.service.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.*;
+
+/**
+ * Tracks which records of a batch have completed when they are processed out of order.
+ *
+ * Records of a partition may complete in any order when the batch is processed in parallel;
+ * the committable offset of a partition is the one following the lowest contiguous run of
+ * completed records, so a commit never skips a record that has not been processed.
+ * Thread-safe.
+ */
+public class OffsetTracker {
+
+    /**
+     * Offsets of one partition in ascending order and their completion
+     */
+    private static final class PartitionOffsets {
+        private final long[] offsets;
+        private final boolean[] completed;
+        private int contiguous;
+
+        PartitionOffsets(long[] offsets) {
+            this.offsets = offsets;
+            this.completed = new boolean[offsets.length];
+        }
+
+        void complete(long offset) {
+            int index = Arrays.binarySearch(offsets, offset);
+            if (index < 0) {
+                return;
+            }
+            completed[index] = true;
+            while (contiguous < completed.length && completed[contiguous]) {
+                contiguous++;
+            }
+        }
+
+        boolean isComplete() {
+            return contiguous == offsets.length;
+        }
+
+        /**
+         * Offset to commit, or -1 when not even the first record has completed
+         */
+        long committable() {
+            return contiguous == 0 ? -1 : offsets[contiguous - 1] + 1;
+        }
+
+        long firstPending() {
+            return isComplete() ? -1 : offsets[contiguous];
+        }
+    }
+
+    private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
+
+    public OffsetTracker(List<? extends ConsumerRecord<?, ?>> records) {
+        Map<TopicPartition, List<Long>> byPartition = new HashMap<>();
+        for (ConsumerRecord<?, ?> record : records) {
+            byPartition.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), tp -> new ArrayList<>())
+                .add(record.offset());
+        }
+        byPartition.forEach((partition, offsets) -> {
+            long[] sorted = offsets.stream().mapToLong(Long::longValue).sorted().toArray();
+            partitions.put(partition, new PartitionOffsets(sorted));
+        });
+    }
+
+    /**
+     * Mark a record as processed (successfully or not; failures are handled per record)
+     */
+    public synchronized void complete(ConsumerRecord<?, ?> record) {
+        PartitionOffsets offsets = partitions.get(new TopicPartition(record.topic(), record.partition()));
+        if (offsets != null) {
+            offsets.complete(record.offset());
+        }
+    }
+
+    public synchronized boolean isComplete() {
+        return partitions.values().stream().allMatch(PartitionOffsets::isComplete);
+    }
+
+    /**
+     * Offsets to commit per partition, up to the lowest contiguous completed record
+     */
+    public synchronized Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> result = new HashMap<>();
+        partitions.forEach((partition, offsets) -> {
+            long offset = offsets.committable();
+            if (offset >= 0) {
+                result.put(partition, new OffsetAndMetadata(offset));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * First record not processed per partition, for partitions with records left over
+     */
+    public synchronized Map<TopicPartition, Long> pendingOffsets() {
+        Map<TopicPartition, Long> result = new HashMap<>();
+        partitions.forEach((partition, offsets) -> {
+            long offset = offsets.firstPending();
+            if (offset >= 0) {
+                result.put(partition, offset);
+            }
+        });
+        return result;
+    }
+}
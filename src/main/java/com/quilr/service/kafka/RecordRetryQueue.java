@@ -0,0 +1,239 @@
+package com.quilr.service.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory queue of records whose processing failed and is retried later.
+ *
+ * Each retry is scheduled after an exponential backoff with jitter (half the backoff plus a
+ * random share of the other half), so failed records are retried without holding up the
+ * records behind them. A record that has used its attempts is refused and left to the caller
+ * (e.g. to dead-letter it). The capacity is not enforced by the queue: once it is full (see
+ * isFull) the caller stops taking new records until retries drain.
+ *
+ * Records keep their order per order key (e.g. the record key): while a record is waiting for
+ * a retry, later records with the same order key are held behind it (see hold) and handed back
+ * in arrival order once it is resolved (see release). Held records count towards the capacity
+ * and, like retries, keep commits from passing them. Thread-safe.
+ */
+public class RecordRetryQueue<K, V> {
+
+    /**
+     * A failed record waiting for its next attempt
+     *
+     * @param attempts Attempts made so far
+     */
+    public record Retry<K, V>(ConsumerRecord<K, V> record, int attempts, long dueAtMillis, String lastError) {
+    }
+
+    private final PriorityQueue<Retry<K, V>> queue = new PriorityQueue<>(Comparator.comparingLong(Retry::dueAtMillis));
+    /**
+     * Record being retried per order key, from its first failure until it is released
+     */
+    private final Map<Object, RecordId> blocked = new HashMap<>();
+    /**
+     * Records held behind the retry of their order key, in arrival order
+     */
+    private final Map<Object, ArrayDeque<ConsumerRecord<K, V>>> waiting = new HashMap<>();
+    private int waitingCount;
+    private final Function<ConsumerRecord<K, V>, Object> orderKey;
+    private final int capacity;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    /**
+     * @param orderKey Key whose records must stay in order; null keys share one order
+     */
+    public RecordRetryQueue(int capacity, int maxAttempts, long initialBackoffMs, long maxBackoffMs,
+                            Function<ConsumerRecord<K, V>, Object> orderKey) {
+        this.capacity = capacity;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.orderKey = orderKey;
+    }
+
+    /**
+     * Schedule the next attempt of a failed record
+     *
+     * @param attempts Attempts made so far, including the one that just failed
+     * @return false if the record has used its attempts
+     */
+    public synchronized boolean schedule(ConsumerRecord<K, V> record, int attempts, String error) {
+        if (attempts >= maxAttempts) {
+            return false;
+        }
+        queue.add(new Retry<>(record, attempts, System.currentTimeMillis() + backoff(attempts), error));
+        blocked.put(orderKey.apply(record), RecordId.of(record));
+        return true;
+    }
+
+    /**
+     * Queue a record again regardless of its attempts and the capacity, e.g. when it could not
+     * be dead-lettered; its offset is held back until it is resolved
+     *
+     * @param attempts Attempts made so far
+     */
+    public synchronized void requeue(ConsumerRecord<K, V> record, int attempts, String error) {
+        queue.add(new Retry<>(record, attempts, System.currentTimeMillis() + backoff(Math.max(1, attempts)), error));
+        blocked.putIfAbsent(orderKey.apply(record), RecordId.of(record));
+    }
+
+    /**
+     * Whether another record with the same order key is being retried; the record must then be
+     * held behind it
+     */
+    public synchronized boolean isWaiting(ConsumerRecord<K, V> record) {
+        if (blocked.isEmpty()) {
+            return false;
+        }
+        RecordId retrying = blocked.get(orderKey.apply(record));
+        return retrying != null && !retrying.equals(RecordId.of(record));
+    }
+
+    /**
+     * Hold a record behind the retry of its order key
+     */
+    public synchronized void hold(ConsumerRecord<K, V> record) {
+        waiting.computeIfAbsent(orderKey.apply(record), key -> new ArrayDeque<>()).add(record);
+        waitingCount++;
+    }
+
+    /**
+     * Release the order key of a retried record once it is resolved (processed or given up on)
+     *
+     * @return Records held behind it, in arrival order, to be processed now; empty if the
+     *         record was scheduled again
+     */
+    public synchronized List<ConsumerRecord<K, V>> release(ConsumerRecord<K, V> record) {
+        RecordId id = RecordId.of(record);
+        Object key = orderKey.apply(record);
+        if (!id.equals(blocked.get(key)) || queue.stream().anyMatch(retry -> id.equals(RecordId.of(retry.record())))) {
+            return List.of();
+        }
+        blocked.remove(key);
+        ArrayDeque<ConsumerRecord<K, V>> held = waiting.remove(key);
+        if (held == null) {
+            return List.of();
+        }
+        waitingCount -= held.size();
+        return new ArrayList<>(held);
+    }
+
+    /**
+     * Remove and return the retries that are due
+     */
+    public synchronized List<Retry<K, V>> takeDue(long nowMillis) {
+        List<Retry<K, V>> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAtMillis() <= nowMillis) {
+            due.add(queue.poll());
+        }
+        return due;
+    }
+
+    /**
+     * Lowest offset still waiting for a retry (or held behind one) per partition; commits must
+     * not pass it
+     */
+    public synchronized Map<TopicPartition, Long> lowestPendingOffsets() {
+        Map<TopicPartition, Long> lowest = new HashMap<>();
+        for (Retry<K, V> retry : queue) {
+            merge(lowest, retry.record());
+        }
+        for (ArrayDeque<ConsumerRecord<K, V>> held : waiting.values()) {
+            held.forEach(record -> merge(lowest, record));
+        }
+        return lowest;
+    }
+
+    /**
+     * Drop the retries and held records of the given records, e.g. when their batch is
+     * processed again. Records held behind a dropped retry move up to take its place.
+     */
+    public synchronized void discard(Collection<? extends ConsumerRecord<K, V>> records) {
+        Set<RecordId> ids = new HashSet<>();
+        for (ConsumerRecord<K, V> record : records) {
+            ids.add(RecordId.of(record));
+        }
+        queue.removeIf(retry -> ids.contains(RecordId.of(retry.record())));
+        waiting.values().forEach(held -> {
+            int before = held.size();
+            held.removeIf(record -> ids.contains(RecordId.of(record)));
+            waitingCount -= before - held.size();
+        });
+
+        Iterator<Map.Entry<Object, RecordId>> it = blocked.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, RecordId> entry = it.next();
+            if (!ids.contains(entry.getValue())) {
+                continue;
+            }
+            ArrayDeque<ConsumerRecord<K, V>> held = waiting.get(entry.getKey());
+            if (held == null || held.isEmpty()) {
+                waiting.remove(entry.getKey());
+                it.remove();
+            } else {
+                // The first record held takes the place of the dropped retry, due right away
+                ConsumerRecord<K, V> next = held.poll();
+                waitingCount--;
+                queue.add(new Retry<>(next, 0, System.currentTimeMillis(), null));
+                entry.setValue(RecordId.of(next));
+            }
+        }
+    }
+
+    /**
+     * Drop the retries and held records of the given partitions, e.g. when they are revoked
+     */
+    public synchronized void discardPartitions(Collection<TopicPartition> partitions) {
+        List<ConsumerRecord<K, V>> records = new ArrayList<>();
+        for (Retry<K, V> retry : queue) {
+            records.add(retry.record());
+        }
+        waiting.values().forEach(records::addAll);
+        records.removeIf(record -> !partitions.contains(new TopicPartition(record.topic(), record.partition())));
+        discard(records);
+    }
+
+    /**
+     * Whether the retries and held records have reached the capacity; no new records should be
+     * taken until they drain
+     */
+    public synchronized boolean isFull() {
+        return size() >= capacity;
+    }
+
+    public synchronized boolean isEmpty() {
+        return queue.isEmpty() && waitingCount == 0;
+    }
+
+    /**
+     * Retries and held records
+     */
+    public synchronized int size() {
+        return queue.size() + waitingCount;
+    }
+
+    private static void merge(Map<TopicPartition, Long> lowest, ConsumerRecord<?, ?> record) {
+        lowest.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::min);
+    }
+
+    private record RecordId(String topic, int partition, long offset) {
+
+        static RecordId of(ConsumerRecord<?, ?> record) {
+            return new RecordId(record.topic(), record.partition(), record.offset());
+        }
+    }
+
+    private long backoff(int attempts) {
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+}
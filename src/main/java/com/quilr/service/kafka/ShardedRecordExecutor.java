@@ -0,0 +1,290 @@
+package com.quilr.service.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Worker pool for processing the records of a consumer batch in parallel.
+ *
+ * A batch is split into shards by a shard key (record key or tenant); each shard is processed
+ * in record order by one task, so records with the same key keep their order while different
+ * keys run concurrently. The pool is bounded and shared by all consumer threads.
+ *
+ * The per-record work is mostly blocking JDBC. With executor "virtual" each shard runs on its
+ * own virtual thread (JDK 21+) and the workers default to the database pool size, split evenly
+ * between the consumers, so the number of records in flight follows the connections available
+ * rather than the platform threads; "platform" uses a fixed pool of worker threads shared by
+ * the consumers, by default one per processor.
+ *
+ * A batch that exceeds its timeout has its remaining shards cancelled; workers blocked in a
+ * database call are waited for (up to cancel-grace-ms) so that the records left over are not
+ * polled again while a worker is still writing them.
+ *
+ * Opt-in via quilr.consumer.parallel.enabled.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>quilr.consumer.workers.threads: workers, i.e. shards a batch is split into at most</li>
+ *   <li>quilr.consumer.workers.active: shards being processed</li>
+ *   <li>quilr.consumer.workers.queued: shards waiting for a worker</li>
+ * </ul>
+ */
+@Component
+@Log4j2
+public class ShardedRecordExecutor {
+
+    @Value("${quilr.consumer.parallel.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Worker threads shared by all consumers; 0 uses the number of available processors, or
+     * the database pool size with virtual threads
+     */
+    @Value("${quilr.consumer.parallel.workers:0}")
+    private int workers;
+
+    /**
+     * "platform" or "virtual"
+     */
+    @Value("${quilr.consumer.parallel.executor:platform}")
+    private String executorType;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:50}")
+    private int databasePoolSize;
+
+    /**
+     * "key" (record key, partition for records without a key) or "tenant"
+     */
+    @Value("${quilr.consumer.parallel.shard-by:key}")
+    private String shardBy;
+
+    /**
+     * Maximum time a batch may take; shards still running are cancelled and their records
+     * are left uncommitted
+     */
+    @Value("${quilr.consumer.parallel.batch-timeout-ms:300000}")
+    private long batchTimeoutMs;
+
+    /**
+     * Time to wait for the workers of cancelled shards to stop
+     */
+    @Value("${quilr.consumer.parallel.cancel-grace-ms:30000}")
+    private long cancelGraceMs;
+
+    private volatile ExecutorService executor;
+    private final AtomicInteger activeShards = new AtomicInteger();
+    private final AtomicInteger queuedShards = new AtomicInteger();
+    private final AtomicInteger consumers = new AtomicInteger();
+
+    public ShardedRecordExecutor(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("quilr.consumer.workers.active", activeShards);
+        meterRegistry.gauge("quilr.consumer.workers.queued", queuedShards);
+        meterRegistry.gauge("quilr.consumer.workers.threads", this, ShardedRecordExecutor::threads);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isShardByTenant() {
+        return "tenant".equalsIgnoreCase(shardBy);
+    }
+
+    /**
+     * Count a consumer sharing the workers; virtual-thread workers are split between consumers
+     */
+    public void registerConsumer() {
+        consumers.incrementAndGet();
+    }
+
+    /**
+     * Process the records in shards and wait for all of them
+     *
+     * @param records Records in batch order
+     * @param shardKey Key whose records must stay in order; null keys share one shard
+     * @param task Processes one record; runs on a worker thread
+     * @param shardScope Wraps the processing of a shard on its worker (e.g. to open a per-thread memo)
+     * @return true if every shard finished within the batch timeout
+     */
+    public <R> boolean run(List<R> records, Function<R, Object> shardKey, Consumer<R> task,
+                           Function<Runnable, Runnable> shardScope) {
+        int shardCount = Math.min(shardsPerBatch(), records.size());
+        List<List<R>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (R record : records) {
+            Object key = shardKey.apply(record);
+            shards.get(Math.floorMod(key != null ? key.hashCode() : 0, shardCount)).add(record);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(shardCount);
+        List<AtomicBoolean> dequeued = new ArrayList<>(shardCount);
+        List<CountDownLatch> stopped = new ArrayList<>(shardCount);
+        for (List<R> shard : shards) {
+            if (!shard.isEmpty()) {
+                Runnable work = shardScope.apply(() -> shard.forEach(task));
+                AtomicBoolean started = new AtomicBoolean();
+                CountDownLatch done = new CountDownLatch(1);
+                queuedShards.incrementAndGet();
+                dequeued.add(started);
+                stopped.add(done);
+                futures.add(executor().submit(() -> {
+                    if (!started.compareAndSet(false, true)) {
+                        // Cancelled before it started
+                        done.countDown();
+                        return;
+                    }
+                    queuedShards.decrementAndGet();
+                    activeShards.incrementAndGet();
+                    try {
+                        work.run();
+                    } finally {
+                        activeShards.decrementAndGet();
+                        done.countDown();
+                    }
+                }));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMs);
+        boolean finished = true;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<?> future = futures.get(i);
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                finished = false;
+                cancel(future, dequeued.get(i), stopped.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = 0; j < futures.size(); j++) {
+                    cancel(futures.get(j), dequeued.get(j), stopped.get(j));
+                }
+                awaitStopped(stopped);
+                return false;
+            } catch (ExecutionException e) {
+                // Tasks handle their own failures; an escaping exception ends its shard early
+                log.error("Record shard failed: {}", e.getCause().getMessage(), e.getCause());
+                finished = false;
+            }
+        }
+        if (!finished) {
+            log.warn("Parallel batch of {} records did not complete within {} ms", records.size(), batchTimeoutMs);
+            awaitStopped(stopped);
+        }
+        return finished;
+    }
+
+    private void cancel(Future<?> future, AtomicBoolean started, CountDownLatch stopped) {
+        if (started.compareAndSet(false, true)) {
+            // Never started: it leaves the queue here and will not run
+            queuedShards.decrementAndGet();
+            stopped.countDown();
+        }
+        future.cancel(true);
+    }
+
+    /**
+     * Wait for the workers of cancelled shards to return, so that no record of the batch is
+     * still being written when the caller moves on (e.g. rewinds to poll the records again)
+     */
+    private void awaitStopped(List<CountDownLatch> stopped) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cancelGraceMs);
+        boolean interrupted = Thread.interrupted();
+        try {
+            for (CountDownLatch latch : stopped) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !latch.await(remaining, TimeUnit.NANOSECONDS)) {
+                    log.error("Cancelled record shards did not stop within {} ms", cancelGraceMs);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+            try {
+                if (!current.awaitTermination(10, TimeUnit.SECONDS)) {
+                    current.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                current.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Shards a batch is split into: all workers for the shared platform pool, where extra
+     * shards queue; an even share of them with virtual threads, which all run at once
+     */
+    private int shardsPerBatch() {
+        return isVirtual() ? Math.max(1, threads() / Math.max(1, consumers.get())) : threads();
+    }
+
+    private int threads() {
+        if (workers > 0) {
+            return workers;
+        }
+        return isVirtual() ? databasePoolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    private boolean isVirtual() {
+        return "virtual".equalsIgnoreCase(executorType);
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null && isVirtual()) {
+                    try {
+                        current = (ExecutorService) Executors.class
+                            .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                        log.info("Parallel record processing uses virtual threads, up to {} shards, sharded by {}",
+                            threads(), shardBy);
+                        executor = current;
+                    } catch (ReflectiveOperationException e) {
+                        log.warn("Virtual threads are not available on this runtime; parallel record processing uses platform threads");
+                        executorType = "platform";
+                    }
+                }
+                if (current == null) {
+                    AtomicInteger index = new AtomicInteger();
+                    int threads = threads();
+                    current = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "record-worker-" + index.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    log.info("Parallel record processing uses {} workers, sharded by {}", threads, shardBy);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -6,6 +6,8 @@ import com.quilr.dto.TransformedEntity;
 import com.quilr.dto.VendorType;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.function.Consumer;
+
 /**
  * Abstract base implementation of FabricTransformer.
  * Provides common transformation logic and delegates to vendor-specific EntityTransformer
@@ -34,6 +36,11 @@ public abstract class AbstractFabricTransformer implements FabricTransformer {
     
     @Override
     public TransformedEntity transform(RawEntityMessage message) {
+        return transform(message, null);
+    }
+    
+    @Override
+    public TransformedEntity transform(RawEntityMessage message, Consumer<TransformedEntity> partSink) {
         if (message == null) {
             throw new IllegalArgumentException("RawEntityMessage cannot be null");
         }
@@ -57,7 +64,9 @@ public abstract class AbstractFabricTransformer implements FabricTransformer {
             switch (entityType) {
                 case USERS:
                     log.debug("Delegating to transformUsers for vendor: {}", vendorType);
-                    result = entityTransformer.transformUsers(message.getData(), message);
+                    result = partSink != null
+                        ? entityTransformer.transformUsers(message.getData(), message, partSink)
+                        : entityTransformer.transformUsers(message.getData(), message);
                     break;
                     
                 case APPS:
@@ -8,16 +8,33 @@ import com.quilr.dto.TransformedEntity;
 import com.quilr.dto.VendorType;
 import com.quilr.dto.entities.*;
 import com.quilr.mapping.FieldMappingEngine;
+import com.quilr.mapping.MappingContext;
+import com.quilr.mapping.ParallelMappingExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Dynamic entity transformer that uses database-driven field mappings
  * Replaces vendor-specific static transformers like MicrosoftEntityTransformer
+ * 
+ * Users and apps records are mapped by the same engine from the field_mappings rows of their
+ * entity type. Mapping time is recorded per vendor and entity type as quilr.transform.duration.
+ * 
+ * Users with very large groups/roles arrays can be streamed: the user is emitted first and
+ * groups, roles and their links follow in chunks of a fixed size, so the mapped entities held
+ * at any time are bounded regardless of the array sizes.
  */
 @Component
 @Log4j2
@@ -25,10 +42,32 @@ public class DynamicEntityTransformer implements EntityTransformer {
     
     private final FieldMappingEngine mappingEngine;
     private final ObjectMapper objectMapper;
+    private final ParallelMappingExecutor parallelMapping;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
     
-    public DynamicEntityTransformer(FieldMappingEngine mappingEngine, ObjectMapper objectMapper) {
+    /**
+     * Stream groups and roles of records whose arrays hold at least streaming.array-threshold
+     * elements, when the caller can take partial results
+     */
+    @Value("${quilr.mapping.streaming.enabled:false}")
+    private boolean streamingEnabled;
+    
+    @Value("${quilr.mapping.streaming.array-threshold:1000}")
+    private int streamingArrayThreshold;
+    
+    /**
+     * Groups plus roles per emitted chunk
+     */
+    @Value("${quilr.mapping.streaming.chunk-size:500}")
+    private int streamingChunkSize;
+    
+    public DynamicEntityTransformer(FieldMappingEngine mappingEngine, ObjectMapper objectMapper,
+                                    ParallelMappingExecutor parallelMapping, MeterRegistry meterRegistry) {
         this.mappingEngine = mappingEngine;
         this.objectMapper = objectMapper;
+        this.parallelMapping = parallelMapping;
+        this.meterRegistry = meterRegistry;
     }
     
     @Override
@@ -39,52 +78,40 @@ public class DynamicEntityTransformer implements EntityTransformer {
             throw new IllegalArgumentException("Payload cannot be null for users transformation");
         }
         
+        long start = System.nanoTime();
         try {
-            // Map single entities
-            TenantEntity tenant = mappingEngine.mapEntity(payload, context, TenantEntity.class);
-            InstanceEntity instance = mappingEngine.mapEntity(payload, context, InstanceEntity.class);
-            ApplicationEntity application = mappingEngine.mapEntity(payload, context, ApplicationEntity.class);
-            UserEntity user = mappingEngine.mapEntity(payload, context, UserEntity.class);
-            AccountEntity account = mappingEngine.mapEntity(payload, context, AccountEntity.class);
+            // Large payloads map groups and roles on the parallel executor while the single
+            // entities are mapped here
+            boolean parallel = parallelMapping.shouldParallelize(payload);
+            
+            // Build the mapping context once; every mapping call for this record shares it
+            MappingContext mappingContext = mappingEngine.createContext(payload, context, parallel);
             
-            // Build extraInfo for user (complex JSONB fields)
-            // Note: payload IS the data node (message.getData() returns the 'data' object directly)
-            if (user != null) {
-                Map<String, Object> extraInfo = buildUserExtraInfo(payload, user.getMail());
-                user.setExtraInfo(extraInfo);
+            CompletableFuture<List<GroupEntity>> groupsTask = null;
+            CompletableFuture<List<RoleEntity>> rolesTask = null;
+            if (parallel) {
+                groupsTask = parallelMapping.fork(
+                    () -> mappingEngine.mapEntityList(mappingContext, GroupEntity.class, "data.groups"));
+                rolesTask = parallelMapping.fork(
+                    () -> mappingEngine.mapEntityList(mappingContext, RoleEntity.class, "data.roles"));
             }
             
+            // Map single entities
+            TenantEntity tenant = mappingEngine.mapEntity(mappingContext, TenantEntity.class);
+            InstanceEntity instance = mappingEngine.mapEntity(mappingContext, InstanceEntity.class);
+            ApplicationEntity application = mappingEngine.mapEntity(mappingContext, ApplicationEntity.class);
+            UserEntity user = mappingEngine.mapEntity(mappingContext, UserEntity.class);
+            AccountEntity account = mappingEngine.mapEntity(mappingContext, AccountEntity.class);
+            
             // Map array entities - departments and office locations (single values treated as arrays)
-            List<DepartmentEntity> departments = extractDepartments(payload, tenant, context);
-            List<OfficeLocationEntity> officeLocations = extractOfficeLocations(payload, tenant, context);
+            List<DepartmentEntity> departments = extractDepartments(payload, mappingContext);
+            List<OfficeLocationEntity> officeLocations = extractOfficeLocations(payload, mappingContext);
             
             // Map array entities - groups and roles (actual arrays)
-            List<GroupEntity> groups = mappingEngine.mapEntityList(payload, context, GroupEntity.class, "data.groups");
-            List<RoleEntity> roles = mappingEngine.mapEntityList(payload, context, RoleEntity.class, "data.roles");
-            
-            // Build extraInfo for groups
-            // Note: payload IS the data node, so groups are at payload.groups not payload.data.groups
-            if (payload.has("groups")) {
-                JsonNode groupsArray = payload.get("groups");
-                for (int i = 0; i < groups.size() && i < groupsArray.size(); i++) {
-                    GroupEntity group = groups.get(i);
-                    JsonNode groupNode = groupsArray.get(i);
-                    Map<String, Object> extraInfo = buildGroupExtraInfo(groupNode);
-                    group.setExtraInfo(extraInfo);
-                }
-            }
-            
-            // Build extraInfo for roles
-            // Note: payload IS the data node, so roles are at payload.roles not payload.data.roles
-            if (payload.has("roles")) {
-                JsonNode rolesArray = payload.get("roles");
-                for (int i = 0; i < roles.size() && i < rolesArray.size(); i++) {
-                    RoleEntity role = roles.get(i);
-                    JsonNode roleNode = rolesArray.get(i);
-                    Map<String, Object> extraInfo = buildRoleExtraInfo(roleNode);
-                    role.setExtraInfo(extraInfo);
-                }
-            }
+            List<GroupEntity> groups = parallel ? join(groupsTask)
+                : mappingEngine.mapEntityList(mappingContext, GroupEntity.class, "data.groups");
+            List<RoleEntity> roles = parallel ? join(rolesTask)
+                : mappingEngine.mapEntityList(mappingContext, RoleEntity.class, "data.roles");
             
             // Build junction table links
             List<UserDepartmentLink> userDepartments = buildUserDepartmentLinks(
@@ -101,6 +128,8 @@ public class DynamicEntityTransformer implements EntityTransformer {
             metadata.put("transformerVersion", "3.0-dynamic");
             metadata.put("sourceSystem", context.getVendor() + " API");
             metadata.put("transformedBy", this.getClass().getSimpleName());
+            metadata.put("mappingVersion", mappingContext.getSnapshot().getVersion());
+            metadata.put("mappingFingerprint", mappingContext.getSnapshot().getFingerprint());
             metadata.put("entitiesExtracted", Map.of(
                 "tenant", 1,
                 "instance", 1,
@@ -139,6 +168,7 @@ public class DynamicEntityTransformer implements EntityTransformer {
             log.debug("Successfully transformed user dynamically - EntityId: {}, Groups: {}, Roles: {}", 
                 entity.getEntityId(), groups.size(), roles.size());
             
+            timer(context.getVendor(), EntityType.USERS).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return entity;
             
         } catch (Exception e) {
@@ -147,24 +177,240 @@ public class DynamicEntityTransformer implements EntityTransformer {
         }
     }
     
+    @Override
+    public TransformedEntity transformUsers(JsonNode payload, RawEntityMessage context,
+                                           Consumer<TransformedEntity> partSink) {
+        if (!streamingEnabled || partSink == null || payload == null
+                || arraySize(payload, "groups") + arraySize(payload, "roles") < streamingArrayThreshold) {
+            return transformUsers(payload, context);
+        }
+        
+        log.debug("Streaming user entity - vendor: {}, groups: {}, roles: {}", context.getVendor(),
+            arraySize(payload, "groups"), arraySize(payload, "roles"));
+        
+        long start = System.nanoTime();
+        try {
+            MappingContext mappingContext = mappingEngine.createContext(payload, context);
+            
+            TenantEntity tenant = mappingEngine.mapEntity(mappingContext, TenantEntity.class);
+            InstanceEntity instance = mappingEngine.mapEntity(mappingContext, InstanceEntity.class);
+            ApplicationEntity application = mappingEngine.mapEntity(mappingContext, ApplicationEntity.class);
+            UserEntity user = mappingEngine.mapEntity(mappingContext, UserEntity.class);
+            AccountEntity account = mappingEngine.mapEntity(mappingContext, AccountEntity.class);
+            List<DepartmentEntity> departments = extractDepartments(payload, mappingContext);
+            List<OfficeLocationEntity> officeLocations = extractOfficeLocations(payload, mappingContext);
+            
+            // The first part carries the user so that it is ingested before its memberships
+            Map<String, Object> headMetadata = metadata(context, mappingContext);
+            headMetadata.put("part", 0);
+            partSink.accept(TransformedEntity.builder()
+                .entityId(user.getId())
+                .entityType(EntityType.USERS)
+                .vendor(VendorType.valueOf(context.getVendor().toUpperCase()))
+                .transformedAt(Instant.now())
+                .originalTimestamp(context.getTimestamp())
+                .tenant(tenant)
+                .instance(instance)
+                .application(application)
+                .account(account)
+                .user(user)
+                .departments(departments)
+                .officeLocations(officeLocations)
+                .groups(List.of())
+                .roles(List.of())
+                .userDepartments(buildUserDepartmentLinks(user.getUserId(), tenant.getTenantId(), departments))
+                .userOfficeLocations(buildUserOfficeLocationLinks(user.getUserId(), officeLocations))
+                .metadata(headMetadata)
+                .build());
+            
+            MembershipChunks chunks = new MembershipChunks(context, mappingContext, tenant, instance, user, partSink);
+            int groups = mappingEngine.forEachEntity(mappingContext, GroupEntity.class, "data.groups", chunks::add);
+            int roles = mappingEngine.forEachEntity(mappingContext, RoleEntity.class, "data.roles", chunks::add);
+            
+            // The last chunk is returned and completes the record
+            TransformedEntity last = chunks.build();
+            last.getMetadata().put("entitiesExtracted", Map.of(
+                "tenant", 1,
+                "instance", 1,
+                "application", application != null ? 1 : 0,
+                "account", account != null ? 1 : 0,
+                "user", 1,
+                "departments", departments.size(),
+                "officeLocations", officeLocations.size(),
+                "groups", groups,
+                "roles", roles
+            ));
+            
+            log.debug("Successfully streamed user - EntityId: {}, Groups: {}, Roles: {}, Parts: {}",
+                user.getId(), groups, roles, chunks.parts + 1);
+            
+            timer(context.getVendor(), EntityType.USERS).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return last;
+            
+        } catch (Exception e) {
+            log.error("Error streaming user entity: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to transform user entity", e);
+        }
+    }
+    
+    /**
+     * Groups and roles of a streamed user with their links, emitted whenever chunk-size
+     * entities have been collected
+     */
+    private final class MembershipChunks {
+        
+        private final RawEntityMessage context;
+        private final MappingContext mappingContext;
+        private final TenantEntity tenant;
+        private final InstanceEntity instance;
+        private final UserEntity user;
+        private final Consumer<TransformedEntity> partSink;
+        private List<GroupEntity> groups = new ArrayList<>();
+        private List<RoleEntity> roles = new ArrayList<>();
+        private int parts;
+        
+        MembershipChunks(RawEntityMessage context, MappingContext mappingContext, TenantEntity tenant,
+                         InstanceEntity instance, UserEntity user, Consumer<TransformedEntity> partSink) {
+            this.context = context;
+            this.mappingContext = mappingContext;
+            this.tenant = tenant;
+            this.instance = instance;
+            this.user = user;
+            this.partSink = partSink;
+        }
+        
+        void add(GroupEntity group) {
+            groups.add(group);
+            flushIfFull();
+        }
+        
+        void add(RoleEntity role) {
+            roles.add(role);
+            flushIfFull();
+        }
+        
+        private void flushIfFull() {
+            if (groups.size() + roles.size() >= streamingChunkSize) {
+                partSink.accept(build());
+                groups = new ArrayList<>();
+                roles = new ArrayList<>();
+            }
+        }
+        
+        /**
+         * Part with the collected groups and roles; tenant and instance are repeated so that
+         * every part can be ingested on its own
+         */
+        TransformedEntity build() {
+            Map<String, Object> metadata = metadata(context, mappingContext);
+            metadata.put("part", ++parts);
+            return TransformedEntity.builder()
+                .entityId(user.getId())
+                .entityType(EntityType.USERS)
+                .vendor(VendorType.valueOf(context.getVendor().toUpperCase()))
+                .transformedAt(Instant.now())
+                .originalTimestamp(context.getTimestamp())
+                .tenant(tenant)
+                .instance(instance)
+                .departments(List.of())
+                .officeLocations(List.of())
+                .groups(groups)
+                .roles(roles)
+                .userGroups(buildUserGroupLinks(user.getUserId(), groups))
+                .userRoles(buildUserRoleLinks(user.getUserId(), roles))
+                .metadata(metadata)
+                .build();
+        }
+    }
+    
     @Override
     public TransformedEntity transformApps(JsonNode payload, RawEntityMessage context) {
-        throw new UnsupportedOperationException(
-            "Apps transformation not yet implemented for dynamic transformer"
-        );
+        log.debug("Transforming app entity dynamically - vendor: {}", context.getVendor());
+        
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null for apps transformation");
+        }
+        
+        long start = System.nanoTime();
+        MappingContext mappingContext = mappingEngine.createContext(payload, context);
+        
+        TenantEntity tenant = mappingEngine.mapEntity(mappingContext, TenantEntity.class);
+        InstanceEntity instance = mappingEngine.mapEntity(mappingContext, InstanceEntity.class);
+        ApplicationEntity application = mappingEngine.mapEntity(mappingContext, ApplicationEntity.class);
+        
+        // Without mappings (or an app id) there is nothing to ingest
+        if (tenant == null || instance == null || application == null || application.getId_() == null) {
+            throw new IllegalArgumentException(String.format(
+                "No apps field mappings produced a tenant, instance and application id for vendor %s",
+                context.getVendor()));
+        }
+        
+        Map<String, Object> metadata = metadata(context, mappingContext);
+        metadata.put("entitiesExtracted", Map.of(
+            "tenant", 1,
+            "instance", 1,
+            "application", 1
+        ));
+        
+        TransformedEntity entity = TransformedEntity.builder()
+            .entityId(application.getId_())
+            .entityType(EntityType.APPS)
+            .vendor(VendorType.valueOf(context.getVendor().toUpperCase()))
+            .transformedAt(Instant.now())
+            .originalTimestamp(context.getTimestamp())
+            .tenant(tenant)
+            .instance(instance)
+            .application(application)
+            .departments(List.of())
+            .officeLocations(List.of())
+            .groups(List.of())
+            .roles(List.of())
+            .metadata(metadata)
+            .build();
+        
+        log.debug("Successfully transformed app dynamically - EntityId: {}", entity.getEntityId());
+        
+        timer(context.getVendor(), EntityType.APPS).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return entity;
+    }
+    
+    /**
+     * Metadata common to every transformed entity
+     */
+    private Map<String, Object> metadata(RawEntityMessage context, MappingContext mappingContext) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("transformerVersion", "3.0-dynamic");
+        metadata.put("sourceSystem", context.getVendor() + " API");
+        metadata.put("transformedBy", this.getClass().getSimpleName());
+        metadata.put("mappingVersion", mappingContext.getSnapshot().getVersion());
+        metadata.put("mappingFingerprint", mappingContext.getSnapshot().getFingerprint());
+        return metadata;
+    }
+    
+    private static int arraySize(JsonNode payload, String field) {
+        JsonNode array = payload.get(field);
+        return array != null && array.isArray() ? array.size() : 0;
+    }
+    
+    private Timer timer(String vendor, EntityType entityType) {
+        return timers.computeIfAbsent(vendor + ":" + entityType.getValue(), key -> Timer.builder("quilr.transform.duration")
+            .tag("vendor", vendor)
+            .tag("entity_type", entityType.getValue())
+            .description("Time to map one record to its target entities")
+            .register(meterRegistry));
     }
     
     /**
      * Extract departments (single value treated as array)
      * Note: payload IS the data node (message.getData())
      */
-    private List<DepartmentEntity> extractDepartments(JsonNode payload, TenantEntity tenant, RawEntityMessage context) {
+    private List<DepartmentEntity> extractDepartments(JsonNode payload, MappingContext mappingContext) {
         List<DepartmentEntity> departments = new ArrayList<>();
         
         if (payload.has("department")) {
             JsonNode deptNode = payload.get("department");
             if (!deptNode.isNull() && !deptNode.asText().isBlank()) {
-                DepartmentEntity dept = mappingEngine.mapEntity(payload, context, DepartmentEntity.class);
+                DepartmentEntity dept = mappingEngine.mapEntity(mappingContext, DepartmentEntity.class);
                 if (dept != null) {
                     departments.add(dept);
                 }
@@ -178,13 +424,13 @@ public class DynamicEntityTransformer implements EntityTransformer {
      * Extract office locations (single value treated as array)
      * Note: payload IS the data node (message.getData())
      */
-    private List<OfficeLocationEntity> extractOfficeLocations(JsonNode payload, TenantEntity tenant, RawEntityMessage context) {
+    private List<OfficeLocationEntity> extractOfficeLocations(JsonNode payload, MappingContext mappingContext) {
         List<OfficeLocationEntity> locations = new ArrayList<>();
         
         if (payload.has("officeLocation")) {
             JsonNode locNode = payload.get("officeLocation");
             if (!locNode.isNull() && !locNode.asText().isBlank()) {
-                OfficeLocationEntity loc = mappingEngine.mapEntity(payload, context, OfficeLocationEntity.class);
+                OfficeLocationEntity loc = mappingEngine.mapEntity(mappingContext, OfficeLocationEntity.class);
                 if (loc != null) {
                     locations.add(loc);
                 }
@@ -195,128 +441,17 @@ public class DynamicEntityTransformer implements EntityTransformer {
     }
     
     /**
-     * Build extraInfo JSONB for user
+     * Wait for a parallel mapping task, rethrowing its failure
      */
-    private Map<String, Object> buildUserExtraInfo(JsonNode dataNode, String primaryEmail) {
-        Map<String, Object> extraInfo = new HashMap<>();
-        
-        // Contact information
-        addIfPresent(extraInfo, "businessPhones", extractArrayField(dataNode, "businessPhones"));
-        addIfPresent(extraInfo, "proxyAddresses", extractArrayField(dataNode, "proxyAddresses"));
-        
-        // Process otherMails - separate domain-matching from non-domain-matching
-        List<String> otherMails = extractArrayField(dataNode, "otherMails");
-        String primaryEmailDomain = null;
-        if (primaryEmail != null && primaryEmail.contains("@")) {
-            primaryEmailDomain = primaryEmail.split("@")[1];
-        }
-        
-        String secondaryMailDomainMatch = null;
-        String emailSecondary = null;
-        
-        if (!otherMails.isEmpty()) {
-            for (String otherMail : otherMails) {
-                if (otherMail != null && otherMail.contains("@")) {
-                    String otherDomain = otherMail.split("@")[1];
-                    if (primaryEmailDomain != null && otherDomain.equals(primaryEmailDomain)) {
-                        if (secondaryMailDomainMatch == null) {
-                            secondaryMailDomainMatch = otherMail.toLowerCase();
-                        }
-                    } else {
-                        if (emailSecondary == null) {
-                            emailSecondary = otherMail.toLowerCase();
-                        }
-                    }
-                }
-            }
-        }
-        
-        addIfPresent(extraInfo, "secondaryMail", secondaryMailDomainMatch);
-        addIfPresent(extraInfo, "emailSecondary", emailSecondary);
-        if (!otherMails.isEmpty()) {
-            addIfPresent(extraInfo, "otherMails", otherMails);
-        }
-        
-        // Location information
-        addIfPresent(extraInfo, "city", extractField(dataNode, "city"));
-        addIfPresent(extraInfo, "state", extractField(dataNode, "state"));
-        addIfPresent(extraInfo, "country", extractField(dataNode, "country"));
-        addIfPresent(extraInfo, "streetAddress", extractField(dataNode, "streetAddress"));
-        addIfPresent(extraInfo, "companyName", extractField(dataNode, "companyName"));
-        
-        // Security and authentication
-        addIfPresent(extraInfo, "securityIdentifier", extractField(dataNode, "securityIdentifier"));
-        addIfPresent(extraInfo, "passwordPolicies", extractField(dataNode, "passwordPolicies"));
-        addIfPresent(extraInfo, "lastPasswordChangeDateTime", extractField(dataNode, "lastPasswordChangeDateTime"));
-        
-        // Other fields
-        addIfPresent(extraInfo, "preferredLanguage", extractField(dataNode, "preferredLanguage"));
-        addIfPresent(extraInfo, "mailNickname", extractField(dataNode, "mailNickname"));
-        addIfPresent(extraInfo, "employeeId", extractField(dataNode, "employeeId"));
-        
-        // Complex objects
-        if (dataNode.has("identities") && dataNode.get("identities").isArray()) {
-            extraInfo.put("identities", extractJsonArray(dataNode.get("identities")));
-        }
-        if (dataNode.has("manager") && dataNode.get("manager").isArray()) {
-            extraInfo.put("manager", extractJsonArray(dataNode.get("manager")));
-        }
-        
-        // MFA/Registration details
-        if (dataNode.has("registrationDetails") && dataNode.get("registrationDetails").isArray()) {
-            JsonNode registrationDetailsArray = dataNode.get("registrationDetails");
-            List<Map<String, Object>> registrationDetails = extractJsonArray(registrationDetailsArray);
-            if (!registrationDetails.isEmpty()) {
-                extraInfo.put("mfaDetails", registrationDetails.get(0));
-                extraInfo.put("registrationDetails", registrationDetails);
-            }
-        } else if (dataNode.has("registrationDetails") && !dataNode.get("registrationDetails").isNull()) {
-            Map<String, Object> registrationDetail = extractJsonObject(dataNode.get("registrationDetails"));
-            if (!registrationDetail.isEmpty()) {
-                extraInfo.put("mfaDetails", registrationDetail);
-                extraInfo.put("registrationDetails", registrationDetail);
+    private static <T> T join(CompletableFuture<T> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
         }
-        
-        // Add appId
-        extraInfo.put("appId", "ee1b3219-7159-43f0-a5e0-8869de7bc4cd");
-        
-        return extraInfo.isEmpty() ? null : extraInfo;
-    }
-    
-    /**
-     * Build extraInfo for group
-     */
-    private Map<String, Object> buildGroupExtraInfo(JsonNode groupNode) {
-        Map<String, Object> extraInfo = new HashMap<>();
-        
-        addIfPresent(extraInfo, "creationOptions", extractArrayField(groupNode, "creationOptions"));
-        addIfPresent(extraInfo, "expirationDateTime", extractField(groupNode, "expirationDateTime"));
-        addIfPresent(extraInfo, "resourceBehaviorOptions", extractArrayField(groupNode, "resourceBehaviorOptions"));
-        addIfPresent(extraInfo, "resourceProvisioningOptions", extractArrayField(groupNode, "resourceProvisioningOptions"));
-        addIfPresent(extraInfo, "onPremisesDomainName", extractField(groupNode, "onPremisesDomainName"));
-        addIfPresent(extraInfo, "onPremisesNetBiosName", extractField(groupNode, "onPremisesNetBiosName"));
-        addIfPresent(extraInfo, "onPremisesSamAccountName", extractField(groupNode, "onPremisesSamAccountName"));
-        addIfPresent(extraInfo, "onPremisesSecurityIdentifier", extractField(groupNode, "onPremisesSecurityIdentifier"));
-        addIfPresent(extraInfo, "onPremisesSyncEnabled", extractBooleanField(groupNode, "onPremisesSyncEnabled"));
-        
-        return extraInfo.isEmpty() ? null : extraInfo;
-    }
-    
-    /**
-     * Build extraInfo for role
-     */
-    private Map<String, Object> buildRoleExtraInfo(JsonNode roleNode) {
-        Map<String, Object> extraInfo = new HashMap<>();
-        
-        if (roleNode.has("inheritsPermissionsFrom") && roleNode.get("inheritsPermissionsFrom").isArray()) {
-            extraInfo.put("inheritsPermissionsFrom", extractJsonArray(roleNode.get("inheritsPermissionsFrom")));
-        }
-        if (roleNode.has("role_definition")) {
-            extraInfo.put("role_definition", extractJsonObject(roleNode.get("role_definition")));
-        }
-        
-        return extraInfo.isEmpty() ? null : extraInfo;
     }
     
     /**
@@ -370,84 +505,4 @@ public class DynamicEntityTransformer implements EntityTransformer {
                 .build())
             .collect(Collectors.toList());
     }
-    
-    // ===== Helper Methods =====
-    
-    private String extractField(JsonNode node, String fieldName) {
-        if (node == null || !node.has(fieldName)) {
-            return null;
-        }
-        JsonNode fieldNode = node.get(fieldName);
-        return fieldNode.isNull() ? null : fieldNode.asText();
-    }
-    
-    private Boolean extractBooleanField(JsonNode node, String fieldName) {
-        if (node == null || !node.has(fieldName)) {
-            return null;
-        }
-        JsonNode fieldNode = node.get(fieldName);
-        return fieldNode.isNull() ? null : fieldNode.asBoolean();
-    }
-    
-    private List<String> extractArrayField(JsonNode node, String fieldName) {
-        if (node == null || !node.has(fieldName) || !node.get(fieldName).isArray()) {
-            return new ArrayList<>();
-        }
-        
-        JsonNode arrayNode = node.get(fieldName);
-        List<String> result = new ArrayList<>();
-        for (JsonNode element : arrayNode) {
-            if (!element.isNull()) {
-                result.add(element.asText());
-            }
-        }
-        return result;
-    }
-    
-    private List<Map<String, Object>> extractJsonArray(JsonNode arrayNode) {
-        if (arrayNode == null || !arrayNode.isArray()) {
-            return new ArrayList<>();
-        }
-        
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (JsonNode element : arrayNode) {
-            result.add(extractJsonObject(element));
-        }
-        return result;
-    }
-    
-    private Map<String, Object> extractJsonObject(JsonNode node) {
-        if (node == null || node.isNull()) {
-            return new HashMap<>();
-        }
-        
-        Map<String, Object> result = new HashMap<>();
-        node.fields().forEachRemaining(entry -> {
-            JsonNode value = entry.getValue();
-            if (value.isTextual()) {
-                result.put(entry.getKey(), value.asText());
-            } else if (value.isBoolean()) {
-                result.put(entry.getKey(), value.asBoolean());
-            } else if (value.isNumber()) {
-                result.put(entry.getKey(), value.asLong());
-            } else if (value.isArray()) {
-                result.put(entry.getKey(), extractJsonArray(value));
-            } else if (value.isObject()) {
-                result.put(entry.getKey(), extractJsonObject(value));
-            }
-        });
-        return result;
-    }
-    
-    private void addIfPresent(Map<String, Object> map, String key, Object value) {
-        if (value != null) {
-            if (value instanceof String && ((String) value).isBlank()) {
-                return;
-            }
-            if (value instanceof List && ((List<?>) value).isEmpty()) {
-                return;
-            }
-            map.put(key, value);
-        }
-    }
 }
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.quilr.dto.RawEntityMessage;
 import com.quilr.dto.TransformedEntity;
 
+import java.util.function.Consumer;
+
 /**
  * Second-level transformer interface for entity-type specific transformations.
  * Each vendor's FabricTransformer delegates to this based on entity type (users/apps).
@@ -26,6 +28,21 @@ public interface EntityTransformer {
      */
     TransformedEntity transformUsers(JsonNode payload, RawEntityMessage context);
     
+    /**
+     * Transform user entity, optionally emitting parts of a very large record to partSink
+     * before the returned entity. Parts must be handled before the returned entity, which
+     * completes the record. The default maps the record in one piece.
+     * 
+     * @param payload Vendor-specific user data as JsonNode
+     * @param context Original message context (vendor, timestamp, etc.)
+     * @param partSink Receiver of partial results, or null to map in one piece
+     * @return Transformed user entity (the last part when streamed)
+     */
+    default TransformedEntity transformUsers(JsonNode payload, RawEntityMessage context,
+                                             Consumer<TransformedEntity> partSink) {
+        return transformUsers(payload, context);
+    }
+    
     /**
      * Transform application entity from vendor-specific format to standardized format.
      * 
@@ -4,6 +4,8 @@ import com.quilr.dto.RawEntityMessage;
 import com.quilr.dto.TransformedEntity;
 import com.quilr.dto.VendorType;
 
+import java.util.function.Consumer;
+
 /**
  * Main transformer interface for vendor-specific transformations.
  * Each vendor (Okta, Microsoft, Ollama, PingIDP) will have its own implementation.
@@ -24,6 +26,18 @@ public interface FabricTransformer {
      */
     TransformedEntity transform(RawEntityMessage message);
     
+    /**
+     * Transform a raw entity message, emitting parts of very large records to partSink
+     * before the returned entity.
+     * 
+     * @param message Raw entity message from Kafka
+     * @param partSink Receiver of partial results, or null to transform in one piece
+     * @return Transformed entity (the last part when streamed)
+     */
+    default TransformedEntity transform(RawEntityMessage message, Consumer<TransformedEntity> partSink) {
+        return transform(message);
+    }
+    
     /**
      * Check if this transformer supports the given vendor.
      * Used by FabricTransformerFactory for routing.
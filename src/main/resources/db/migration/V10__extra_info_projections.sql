@@ -0,0 +1,84 @@
+-- extraInfo projections
+-- The extraInfo columns of user, group and role are built by the 'project' transform from a
+-- projection spec in transform_args instead of hard-coded field lists in the transformer:
+--   {"fields": {"key": "path" | {"path": ..., "as": node|text|strings|boolean|first,
+--                                "transform": ..., "args": ..., "value": ...}}}
+-- Paths are relative to the mapping's source value. The result is a JSON tree bound to the
+-- jsonb column as-is.
+
+INSERT INTO transform_functions (name, description, function_type, implementation_class) VALUES
+('project', 'Project fields of the source object into a JSON object', 'CUSTOM', 'com.quilr.mapping.transform.ProjectTransform')
+ON CONFLICT (name) DO NOTHING;
+
+UPDATE field_mappings
+SET transform = 'project',
+    transform_args = '{"fields": {
+        "businessPhones": {"path": "businessPhones", "as": "strings"},
+        "proxyAddresses": {"path": "proxyAddresses", "as": "strings"},
+        "secondaryMail": {"transform": "extract_secondary_mail"},
+        "emailSecondary": {"transform": "extract_email_secondary"},
+        "otherMails": {"path": "otherMails", "as": "strings"},
+        "city": {"path": "city", "as": "text"},
+        "state": {"path": "state", "as": "text"},
+        "country": {"path": "country", "as": "text"},
+        "streetAddress": {"path": "streetAddress", "as": "text"},
+        "companyName": {"path": "companyName", "as": "text"},
+        "securityIdentifier": {"path": "securityIdentifier", "as": "text"},
+        "passwordPolicies": {"path": "passwordPolicies", "as": "text"},
+        "lastPasswordChangeDateTime": {"path": "lastPasswordChangeDateTime", "as": "text"},
+        "preferredLanguage": {"path": "preferredLanguage", "as": "text"},
+        "mailNickname": {"path": "mailNickname", "as": "text"},
+        "employeeId": {"path": "employeeId", "as": "text"},
+        "identities": "identities",
+        "manager": "manager",
+        "mfaDetails": {"path": "registrationDetails", "as": "first"},
+        "registrationDetails": "registrationDetails",
+        "appId": {"value": "ee1b3219-7159-43f0-a5e0-8869de7bc4cd"}
+    }}',
+    updated_at = CURRENT_TIMESTAMP
+WHERE vendor = 'Microsoft'
+  AND entity_type = 'users'
+  AND target_entity = 'user'
+  AND target_field = 'extraInfo'
+  AND transform = 'build_extra_info';
+
+UPDATE field_mappings
+SET transform = 'project',
+    transform_args = '{"fields": {
+        "creationOptions": {"path": "creationOptions", "as": "strings"},
+        "expirationDateTime": {"path": "expirationDateTime", "as": "text"},
+        "resourceBehaviorOptions": {"path": "resourceBehaviorOptions", "as": "strings"},
+        "resourceProvisioningOptions": {"path": "resourceProvisioningOptions", "as": "strings"},
+        "onPremisesDomainName": {"path": "onPremisesDomainName", "as": "text"},
+        "onPremisesNetBiosName": {"path": "onPremisesNetBiosName", "as": "text"},
+        "onPremisesSamAccountName": {"path": "onPremisesSamAccountName", "as": "text"},
+        "onPremisesSecurityIdentifier": {"path": "onPremisesSecurityIdentifier", "as": "text"},
+        "onPremisesSyncEnabled": {"path": "onPremisesSyncEnabled", "as": "boolean"}
+    }}',
+    updated_at = CURRENT_TIMESTAMP
+WHERE vendor = 'Microsoft'
+  AND entity_type = 'users'
+  AND target_entity = 'group'
+  AND target_field = 'extraInfo'
+  AND transform = 'build_group_extra_info';
+
+UPDATE field_mappings
+SET transform = 'project',
+    transform_args = '{"fields": {
+        "inheritsPermissionsFrom": "inheritsPermissionsFrom",
+        "role_definition": "role_definition"
+    }}',
+    updated_at = CURRENT_TIMESTAMP
+WHERE vendor = 'Microsoft'
+  AND entity_type = 'users'
+  AND target_entity = 'role'
+  AND target_field = 'extraInfo'
+  AND transform = 'build_role_extra_info';
+
+-- The placeholder transforms are no longer implemented
+DELETE FROM transform_functions
+WHERE name IN ('build_extra_info', 'build_group_extra_info', 'build_role_extra_info')
+  AND NOT EXISTS (
+      SELECT 1 FROM field_mappings
+      WHERE transform IN ('build_extra_info', 'build_group_extra_info', 'build_role_extra_info')
+  );
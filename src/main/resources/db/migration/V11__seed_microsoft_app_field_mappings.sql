@@ -0,0 +1,31 @@
+-- Seed field_mappings for Microsoft application (apps) records
+-- Apps messages carry one application (service principal) per record in data; the tenant and
+-- instance come from the message envelope as for users.
+
+-- ============================================================================
+-- TENANT ENTITY MAPPINGS
+-- ============================================================================
+INSERT INTO field_mappings (vendor, entity_type, target_entity, target_field, source_path, data_type, transform, transform_args, required, priority) VALUES
+('Microsoft', 'apps', 'tenant', 'id', '$.tenant', 'STRING', NULL, NULL, true, 1),
+('Microsoft', 'apps', 'tenant', 'tenantId', '$.tenant', 'UUID', 'uuid_from_string', '{"field": "tenant"}', true, 2),
+('Microsoft', 'apps', 'tenant', 'subscriberId', '$.subscriber', 'UUID', 'uuid_from_string', '{"field": "subscriber"}', false, 3)
+ON CONFLICT (vendor, entity_type, target_entity, target_field, priority) DO NOTHING;
+
+-- ============================================================================
+-- INSTANCE ENTITY MAPPINGS
+-- ============================================================================
+INSERT INTO field_mappings (vendor, entity_type, target_entity, target_field, source_path, data_type, transform, transform_args, required, priority) VALUES
+('Microsoft', 'apps', 'instance', 'instanceId', '$.instance_id', 'UUID', 'uuid_from_string', '{"field": "instance_id"}', true, 1),
+('Microsoft', 'apps', 'instance', 'tenantId', '$.tenant', 'UUID', 'uuid_from_string', '{"field": "tenant"}', true, 2),
+('Microsoft', 'apps', 'instance', 'appId', '$.domain', 'STRING', NULL, NULL, false, 3)
+ON CONFLICT (vendor, entity_type, target_entity, target_field, priority) DO NOTHING;
+
+-- ============================================================================
+-- APPLICATION ENTITY MAPPINGS
+-- ============================================================================
+INSERT INTO field_mappings (vendor, entity_type, target_entity, target_field, source_path, fallback_paths, data_type, transform, default_value, required, priority) VALUES
+('Microsoft', 'apps', 'application', 'id_', '$.data.appId', '["$.data.id"]', 'STRING', 'trim', NULL, true, 1),
+('Microsoft', 'apps', 'application', 'domain', '$.data.publisherDomain', '["$.data.homepage", "$.domain"]', 'STRING', 'trim|lowercase', NULL, false, 2),
+('Microsoft', 'apps', 'application', 'newApp', NULL, NULL, 'BOOLEAN', NULL, 'false', false, 3),
+('Microsoft', 'apps', 'application', 'globalSyncAllowed', NULL, NULL, 'BOOLEAN', NULL, 'false', false, 4)
+ON CONFLICT (vendor, entity_type, target_entity, target_field, priority) DO NOTHING;
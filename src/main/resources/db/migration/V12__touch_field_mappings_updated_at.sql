@@ -0,0 +1,15 @@
+-- Keep field_mappings.updated_at current for every update, not only those made through JPA
+-- (@PreUpdate). The mapping snapshot fingerprint is built from the row ids and updated_at, so
+-- an UPDATE from psql or a migration must change it as well.
+
+CREATE OR REPLACE FUNCTION touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_field_mappings_touch ON field_mappings;
+CREATE TRIGGER trg_field_mappings_touch
+    BEFORE UPDATE ON field_mappings
+    FOR EACH ROW EXECUTE FUNCTION touch_updated_at();
@@ -0,0 +1,12 @@
+-- Allow several mappings for the same target field, distinguished by priority
+-- FieldMappingEngine evaluates them in ascending priority order; the first row whose
+-- condition holds (or that has no condition) and yields a value wins for that field.
+-- Conditions support ==, !=, exists(path), !, && and || over dot-notation payload paths,
+-- e.g. "data.userType == 'Guest'" or "exists(data.onPremisesSyncEnabled)".
+
+ALTER TABLE field_mappings DROP CONSTRAINT IF EXISTS uk_field_mapping;
+
+ALTER TABLE field_mappings
+    ADD CONSTRAINT uk_field_mapping_priority UNIQUE (vendor, entity_type, target_entity, target_field, priority);
+
+CREATE INDEX IF NOT EXISTS idx_field_mappings_priority ON field_mappings(vendor, entity_type, target_entity, priority);
@@ -0,0 +1,20 @@
+-- Notify listeners when field mapping configuration changes
+-- MappingChangeListener LISTENs on this channel and rebuilds the in-memory mapping snapshot,
+-- so edits to field_mappings or transform_functions take effect without a restart.
+
+CREATE OR REPLACE FUNCTION notify_mapping_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('field_mappings_changed', TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_field_mappings_notify ON field_mappings;
+CREATE TRIGGER trg_field_mappings_notify
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON field_mappings
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_mapping_change();
+
+DROP TRIGGER IF EXISTS trg_transform_functions_notify ON transform_functions;
+CREATE TRIGGER trg_transform_functions_notify
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON transform_functions
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_mapping_change();
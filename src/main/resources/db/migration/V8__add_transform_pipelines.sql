@@ -0,0 +1,22 @@
+-- Transform pipelines
+-- field_mappings.transform may hold several steps separated by '|' (e.g. 'trim|lowercase|extract_domain').
+-- transform_args is then an array with one entry per step (null for steps without arguments).
+-- Adjacent string steps (trim, lowercase, uppercase, extract_domain, split, affix) are fused
+-- into a single step when the mapping plan is built.
+
+INSERT INTO transform_functions (name, description, function_type, implementation_class) VALUES
+('affix', 'Add a fixed prefix and/or suffix to a string', 'STRING', 'com.quilr.mapping.transform.AffixTransform')
+ON CONFLICT (name) DO NOTHING;
+
+-- account.id = lower(mail | userPrincipalName | id)_appId, previously built by the
+-- build_account_id custom transform reading each field from the payload again
+UPDATE field_mappings
+SET fallback_paths = '["$.data.userPrincipalName", "$.data.id"]',
+    transform = 'default_if_null|lowercase|affix',
+    transform_args = '[{"default": "unknown"}, null, {"suffix": "_ee1b3219-7159-43f0-a5e0-8869de7bc4cd"}]',
+    updated_at = CURRENT_TIMESTAMP
+WHERE vendor = 'Microsoft'
+  AND entity_type = 'users'
+  AND target_entity = 'account'
+  AND target_field = 'id'
+  AND transform = 'build_account_id';
@@ -0,0 +1,8 @@
+-- Register the extraInfo placeholder transforms referenced by V5 field mappings
+-- Field mappings may only reference transforms that have a transform_functions row; the
+-- service refuses to start otherwise.
+INSERT INTO transform_functions (name, description, function_type, implementation_class) VALUES
+('build_extra_info', 'Placeholder for user extraInfo, built by the transformer', 'CUSTOM', 'com.quilr.mapping.transform.BuildExtraInfoTransform'),
+('build_group_extra_info', 'Placeholder for group extraInfo, built by the transformer', 'CUSTOM', 'com.quilr.mapping.transform.BuildGroupExtraInfoTransform'),
+('build_role_extra_info', 'Placeholder for role extraInfo, built by the transformer', 'CUSTOM', 'com.quilr.mapping.transform.BuildRoleExtraInfoTransform')
+ON CONFLICT (name) DO NOTHING;